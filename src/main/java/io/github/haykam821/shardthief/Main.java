@@ -2,8 +2,13 @@ package io.github.haykam821.shardthief;
 
 import io.github.haykam821.shardthief.game.ShardThiefConfig;
 import io.github.haykam821.shardthief.game.phase.ShardThiefWaitingPhase;
+import io.github.haykam821.shardthief.game.stats.ShardThiefStatsStore;
+import io.github.haykam821.shardthief.game.worker.ShardThiefWorker;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.WorldSavePath;
 import xyz.nucleoid.plasmid.game.GameType;
 
 public class Main implements ModInitializer {
@@ -12,8 +17,25 @@ public class Main implements ModInitializer {
 	private static final Identifier SHARD_THIEF_ID = new Identifier(MOD_ID, "shard_thief");
 	public static final GameType<ShardThiefConfig> SHARD_THIEF_TYPE = GameType.register(SHARD_THIEF_ID, ShardThiefWaitingPhase::open, ShardThiefConfig.CODEC);
 
+	private static ShardThiefStatsStore stats;
+
 	@Override
 	public void onInitialize() {
-		return;
+		ServerLifecycleEvents.SERVER_STARTING.register(server -> {
+			Main.stats = new ShardThiefStatsStore(server.getSavePath(WorldSavePath.ROOT).resolve(MOD_ID).resolve("stats.log"));
+		});
+		// Games submit their stats from the worker thread in batches, which are written once they arrive
+		ServerTickEvents.END_SERVER_TICK.register(server -> {
+			Main.stats.flush();
+		});
+		ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+			ShardThiefWorker.awaitIdle();
+			Main.stats.close();
+			Main.stats = null;
+		});
+	}
+
+	public static ShardThiefStatsStore getStats() {
+		return Main.stats;
 	}
 }
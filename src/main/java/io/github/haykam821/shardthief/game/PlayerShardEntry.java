@@ -1,16 +1,13 @@
 package io.github.haykam821.shardthief.game;
 
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.text.LiteralText;
-import net.minecraft.text.MutableText;
-import net.minecraft.text.Text;
-import net.minecraft.util.Formatting;
 import net.minecraft.util.Tickable;
 
 public class PlayerShardEntry implements Comparable<PlayerShardEntry>, Tickable {
 	private final ServerPlayerEntity player;
 	private int counts;
 	private int invulnerability;
+	private Shard shard;
 
 	public PlayerShardEntry(ServerPlayerEntity player, int counts, int invulnerability) {
 		this.player = player;
@@ -38,13 +35,16 @@ public class PlayerShardEntry implements Comparable<PlayerShardEntry>, Tickable
 		this.counts -= 1;
 	}
 
-	public Text getWinMessage() {
-		return this.getPlayer().getDisplayName().shallowCopy().append(" has won the game!").formatted(Formatting.GOLD);
+	public Shard getShard() {
+		return this.shard;
 	}
 
-	public Text getStealMessage() {
-		MutableText playerName = this.getPlayer().getDisplayName().shallowCopy().formatted(Formatting.AQUA);
-		return playerName.append(new LiteralText(" has stolen the shard!").formatted(Formatting.WHITE));
+	public void setShard(Shard shard) {
+		this.shard = shard;
+	}
+
+	public boolean hasShard() {
+		return this.shard != null;
 	}
 
 	public void setInvulnerability(int invulnerability) {
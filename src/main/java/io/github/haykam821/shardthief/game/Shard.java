@@ -0,0 +1,40 @@
+package io.github.haykam821.shardthief.game;
+
+public class Shard {
+	private PlayerShardEntry holder;
+	private DroppedShard dropped;
+	private int ticksUntilCount;
+
+	public PlayerShardEntry getHolder() {
+		return this.holder;
+	}
+
+	public void setHolder(PlayerShardEntry holder) {
+		this.holder = holder;
+	}
+
+	public DroppedShard getDropped() {
+		return this.dropped;
+	}
+
+	public void setDropped(DroppedShard dropped) {
+		this.dropped = dropped;
+	}
+
+	public int getTicksUntilCount() {
+		return this.ticksUntilCount;
+	}
+
+	public void setTicksUntilCount(int ticksUntilCount) {
+		this.ticksUntilCount = ticksUntilCount;
+	}
+
+	public void decrementTicksUntilCount() {
+		this.ticksUntilCount -= 1;
+	}
+
+	@Override
+	public String toString() {
+		return "Shard{holder=" + this.holder + ", dropped=" + this.dropped + "}";
+	}
+}
@@ -0,0 +1,69 @@
+package io.github.haykam821.shardthief.game;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.HorizontalFacingBlock;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.block.StairsBlock;
+import net.minecraft.network.packet.s2c.play.BlockUpdateS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.state.property.Properties;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.registry.Registry;
+
+public final class ShardBlockWriter {
+	private static final BlockState FULL_DROP_STATE = Blocks.PRISMARINE.getDefaultState();
+	private static final BlockState SLAB_DROP_STATE = Blocks.PRISMARINE_SLAB.getDefaultState();
+	private static final BlockState STAIRS_DROP_STATE = Blocks.PRISMARINE_STAIRS.getDefaultState();
+
+	// Skips neighbor and shape updates, as clients are synced with an explicit packet instead
+	private static final int FLAGS = 16;
+
+	private static final Map<BlockState, BlockState> DROP_STATES = ShardBlockWriter.createDropStates();
+
+	private ShardBlockWriter() {
+		return;
+	}
+
+	private static Map<BlockState, BlockState> createDropStates() {
+		Map<BlockState, BlockState> dropStates = new HashMap<>();
+
+		for (Block block : Registry.BLOCK) {
+			if (block instanceof SlabBlock) {
+				for (BlockState state : block.getStateManager().getStates()) {
+					dropStates.put(state, SLAB_DROP_STATE
+						.with(Properties.SLAB_TYPE, state.get(Properties.SLAB_TYPE))
+						.with(Properties.WATERLOGGED, state.get(Properties.WATERLOGGED)));
+				}
+			} else if (block instanceof StairsBlock) {
+				for (BlockState state : block.getStateManager().getStates()) {
+					dropStates.put(state, STAIRS_DROP_STATE
+						.with(HorizontalFacingBlock.FACING, state.get(HorizontalFacingBlock.FACING))
+						.with(Properties.BLOCK_HALF, state.get(Properties.BLOCK_HALF))
+						.with(Properties.STAIR_SHAPE, state.get(Properties.STAIR_SHAPE))
+						.with(Properties.WATERLOGGED, state.get(Properties.WATERLOGGED)));
+				}
+			}
+		}
+
+		return dropStates;
+	}
+
+	public static BlockState getDropState(BlockState oldState) {
+		return DROP_STATES.getOrDefault(oldState, FULL_DROP_STATE);
+	}
+
+	public static void write(ServerWorld world, BlockPos pos, BlockState state) {
+		if (!world.setBlockState(pos, state, FLAGS)) return;
+
+		BlockUpdateS2CPacket packet = new BlockUpdateS2CPacket(world, pos);
+		for (ServerPlayerEntity player : world.getPlayers()) {
+			player.networkHandler.sendPacket(packet);
+		}
+	}
+}
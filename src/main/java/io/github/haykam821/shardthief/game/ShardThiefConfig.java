@@ -3,43 +3,57 @@ package io.github.haykam821.shardthief.game;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 
+import io.github.haykam821.shardthief.game.map.ShardThiefMapConfig;
 import xyz.nucleoid.plasmid.game.config.PlayerConfig;
 
 public class ShardThiefConfig {
 	public static final Codec<ShardThiefConfig> CODEC = RecordCodecBuilder.create(instance -> {
 		return instance.group(
 			PlayerConfig.CODEC.fieldOf("players").forGetter(ShardThiefConfig::getPlayerConfig),
+			ShardThiefMapConfig.CODEC.optionalFieldOf("map", ShardThiefMapConfig.DEFAULT).forGetter(ShardThiefConfig::getMapConfig),
 			Codec.INT.optionalFieldOf("starting_counts", 20).forGetter(ShardThiefConfig::getStartingCounts),
 			Codec.INT.optionalFieldOf("restart_counts", 5).forGetter(ShardThiefConfig::getRestartCounts),
 			Codec.INT.optionalFieldOf("shard_invulnerability", 10).forGetter(ShardThiefConfig::getShardInvulnerability),
 			Codec.INT.optionalFieldOf("kit_restock_interval", 20 * 5).forGetter(ShardThiefConfig::getKitRestockInterval),
 			Codec.INT.optionalFieldOf("max_arrows", 3).forGetter(ShardThiefConfig::getMaxArrows),
-			Codec.INT.optionalFieldOf("speed_amplifier", 2).forGetter(ShardThiefConfig::getSpeedAmplifier)
+			Codec.INT.optionalFieldOf("speed_amplifier", 2).forGetter(ShardThiefConfig::getSpeedAmplifier),
+			Codec.INT.optionalFieldOf("players_per_shard", 0).forGetter(ShardThiefConfig::getPlayersPerShard),
+			Codec.BOOL.optionalFieldOf("lightweight_projectiles", false).forGetter(ShardThiefConfig::hasLightweightProjectiles)
 		).apply(instance, ShardThiefConfig::new);
 	});
 
 	private final PlayerConfig playerConfig;
+	private final ShardThiefMapConfig mapConfig;
 	private final int startingCounts;
 	private final int restartCounts;
 	private final int shardInvulnerability;
 	private final int kitRestockInterval;
 	private final int maxArrows;
 	private final int speedAmplifier;
+	private final int playersPerShard;
+	private final boolean lightweightProjectiles;
 
-	public ShardThiefConfig(PlayerConfig playerConfig, int startingCounts, int restartCounts, int shardInvulnerability, int kitRestockInterval, int maxArrows, int speedAmplifier) {
+	public ShardThiefConfig(PlayerConfig playerConfig, ShardThiefMapConfig mapConfig, int startingCounts, int restartCounts, int shardInvulnerability, int kitRestockInterval, int maxArrows, int speedAmplifier, int playersPerShard, boolean lightweightProjectiles) {
 		this.playerConfig = playerConfig;
+		this.mapConfig = mapConfig;
 		this.startingCounts = startingCounts;
 		this.restartCounts = restartCounts;
 		this.shardInvulnerability = shardInvulnerability;
 		this.kitRestockInterval = kitRestockInterval;
 		this.maxArrows = maxArrows;
 		this.speedAmplifier = speedAmplifier;
+		this.playersPerShard = playersPerShard;
+		this.lightweightProjectiles = lightweightProjectiles;
 	}
 
 	public PlayerConfig getPlayerConfig() {
 		return this.playerConfig;
 	}
 
+	public ShardThiefMapConfig getMapConfig() {
+		return this.mapConfig;
+	}
+
 	public int getStartingCounts() {
 		return this.startingCounts;
 	}
@@ -63,4 +77,19 @@ public class ShardThiefConfig {
 	public int getSpeedAmplifier() {
 		return this.speedAmplifier;
 	}
+
+	public int getPlayersPerShard() {
+		return this.playersPerShard;
+	}
+
+	public boolean hasLightweightProjectiles() {
+		return this.lightweightProjectiles;
+	}
+
+	public int getShardCount(int players) {
+		if (this.playersPerShard <= 0) return 1;
+
+		int shards = (players + this.playersPerShard - 1) / this.playersPerShard;
+		return Math.max(1, Math.min(shards, players - 1));
+	}
 }
@@ -0,0 +1,82 @@
+package io.github.haykam821.shardthief.game;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+
+import io.github.haykam821.shardthief.game.stats.PlayerStats;
+import net.minecraft.text.LiteralText;
+import net.minecraft.text.MutableText;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+/**
+ * Formats game messages. These methods do not touch the world, so they are safe to call off the server thread.
+ */
+public final class ShardThiefMessages {
+	private ShardThiefMessages() {
+		return;
+	}
+
+	public static Text getWinMessage(Text name) {
+		return name.shallowCopy().append(" has won the game!").formatted(Formatting.GOLD);
+	}
+
+	public static Text getStealMessage(Text name) {
+		MutableText playerName = name.shallowCopy().formatted(Formatting.AQUA);
+		return playerName.append(new LiteralText(" has stolen the shard!").formatted(Formatting.WHITE));
+	}
+
+	private static Formatting getCountTitleColor(int counts) {
+		if (counts <= 1) {
+			return Formatting.RED;
+		} else if (counts <= 3) {
+			return Formatting.GOLD;
+		} else {
+			return Formatting.YELLOW;
+		}
+	}
+
+	public static Text getCountTitle(int counts) {
+		String countString = Integer.toString(counts);
+		return new LiteralText(countString).formatted(ShardThiefMessages.getCountTitleColor(counts)).formatted(Formatting.BOLD);
+	}
+
+	private static void appendSummaryLine(MutableText summary, String label, Map<UUID, PlayerStats> stats, Map<UUID, Text> names, ToLongFunction<PlayerStats> getter, String unit) {
+		UUID best = null;
+		long bestValue = 0;
+		for (Map.Entry<UUID, PlayerStats> entry : stats.entrySet()) {
+			long value = getter.applyAsLong(entry.getValue());
+			if (value > bestValue) {
+				best = entry.getKey();
+				bestValue = value;
+			}
+		}
+
+		Text name = best == null ? null : names.get(best);
+		if (name == null) return;
+
+		summary.append("\n");
+		summary.append(new LiteralText(label + ": ").formatted(Formatting.GRAY));
+		summary.append(name.shallowCopy().formatted(Formatting.AQUA));
+		summary.append(new LiteralText(" (" + bestValue + unit + ")").formatted(Formatting.GRAY));
+	}
+
+	public static Text getSummary(Map<UUID, PlayerStats> stats, Map<UUID, Text> names) {
+		MutableText summary = new LiteralText("");
+		summary.append(new LiteralText("Game Summary").formatted(Formatting.GOLD, Formatting.BOLD));
+
+		ShardThiefMessages.appendSummaryLine(summary, "Most steals", stats, names, PlayerStats::getSteals, "");
+		ShardThiefMessages.appendSummaryLine(summary, "Most arrow drops", stats, names, PlayerStats::getArrowDrops, "");
+		ShardThiefMessages.appendSummaryLine(summary, "Most pickups", stats, names, PlayerStats::getPickups, "");
+		ShardThiefMessages.appendSummaryLine(summary, "Most time holding", stats, names, playerStats -> playerStats.getHoldingTicks() / 20, "s");
+
+		return summary;
+	}
+
+	public static Text getLifetimeStats(PlayerStats stats) {
+		MutableText text = new LiteralText("Your lifetime stats: ").formatted(Formatting.GRAY);
+		text.append(new LiteralText(stats.getWins() + " wins, " + stats.getSteals() + " steals, " + stats.getArrowDrops() + " arrow drops, " + stats.getPickups() + " pickups, " + stats.getHoldingTicks() / 20 + "s holding").formatted(Formatting.WHITE));
+		return text;
+	}
+}
@@ -0,0 +1,273 @@
+package io.github.haykam821.shardthief.game.map;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import io.github.haykam821.shardthief.Main;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.minecraft.block.BlockState;
+import net.minecraft.command.argument.BlockArgumentParser;
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.ChunkRegion;
+
+public final class BakedArena implements ShardThiefModule {
+	private static final Logger LOGGER = LogManager.getLogger("Shard Thief Arenas");
+
+	private static final int MAGIC = 0x53544152;
+	private static final int VERSION = 2;
+
+	private static final Map<Identifier, BakedArena> CACHE = new HashMap<>();
+
+	private final BlockPos size;
+	private final BlockState[] palette;
+	private final ShortBuffer heightmap;
+	private final ShortBuffer blocks;
+	private final ByteBuffer floors;
+
+	private BakedArena(BlockPos size, BlockState[] palette, ShortBuffer heightmap, ShortBuffer blocks, ByteBuffer floors) {
+		this.size = size;
+		this.palette = palette;
+		this.heightmap = heightmap;
+		this.blocks = blocks;
+		this.floors = floors;
+	}
+
+	private static ModContainer getModContainer() {
+		return FabricLoader.getInstance().getModContainer(Main.MOD_ID).get();
+	}
+
+	private static Path getPath(Identifier id) {
+		Path root = BakedArena.getModContainer().getRootPath();
+		return root.resolve("data").resolve(id.getNamespace()).resolve("arenas").resolve(id.getPath() + ".arena");
+	}
+
+	// Includes the mod version so that arenas from older versions are not reused
+	private static Path getCachePath(Identifier id) {
+		String version = BakedArena.getModContainer().getMetadata().getVersion().getFriendlyString();
+		Path cache = FabricLoader.getInstance().getGameDir().resolve(".cache").resolve(Main.MOD_ID).resolve("arenas").resolve(version);
+		return cache.resolve(id.getNamespace()).resolve(id.getPath() + ".arena");
+	}
+
+	// Returns null if there is no baked arena with the ID
+	public static BakedArena get(Identifier id) throws IOException {
+		BakedArena arena = CACHE.get(id);
+		if (arena == null) {
+			Path path = BakedArena.getPath(id);
+			if (!Files.exists(path)) return null;
+
+			arena = BakedArena.read(id, BakedArena.load(id, path));
+			CACHE.put(id, arena);
+		}
+		return arena;
+	}
+
+	private static Path extract(Identifier id, Path path) throws IOException {
+		Path cachePath = BakedArena.getCachePath(id);
+		if (Files.exists(cachePath) && Files.size(cachePath) == Files.size(path)) {
+			return cachePath;
+		}
+
+		Files.createDirectories(cachePath.getParent());
+
+		Path tempPath = cachePath.resolveSibling(cachePath.getFileName() + ".tmp");
+		Files.copy(path, tempPath, StandardCopyOption.REPLACE_EXISTING);
+		Files.move(tempPath, cachePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		return cachePath;
+	}
+
+	private static ByteBuffer load(Identifier id, Path path) throws IOException {
+		if (path.getFileSystem() != FileSystems.getDefault()) {
+			try {
+				path = BakedArena.extract(id, path);
+			} catch (IOException exception) {
+				LOGGER.warn("Failed to extract arena {}, so it will be read into memory instead", id, exception);
+				return ByteBuffer.wrap(Files.readAllBytes(path));
+			}
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	private static ShortBuffer readShorts(Identifier id, ByteBuffer buffer, long count) throws IOException {
+		if (buffer.remaining() < count * 2) {
+			throw new IOException("Arena " + id + " is truncated");
+		}
+
+		int length = (int) (count * 2);
+		ByteBuffer slice = buffer.slice();
+		slice.limit(length);
+
+		buffer.position(buffer.position() + length);
+		return slice.asShortBuffer();
+	}
+
+	private static BakedArena read(Identifier id, ByteBuffer buffer) throws IOException {
+		try {
+			return BakedArena.readUnchecked(id, buffer);
+		} catch (BufferUnderflowException exception) {
+			throw new IOException("Arena " + id + " is truncated", exception);
+		}
+	}
+
+	private static BakedArena readUnchecked(Identifier id, ByteBuffer buffer) throws IOException {
+		if (buffer.getInt() != MAGIC) {
+			throw new IOException("Arena " + id + " is not a baked arena");
+		}
+
+		int version = buffer.getInt();
+		if (version != VERSION) {
+			throw new IOException("Arena " + id + " has unsupported version " + version);
+		}
+
+		// Data version
+		buffer.getInt();
+
+		BlockPos size = new BlockPos(buffer.getInt(), buffer.getInt(), buffer.getInt());
+		if (size.getX() <= 0 || size.getY() <= 0 || size.getZ() <= 0) {
+			throw new IOException("Arena " + id + " has invalid size " + size.getX() + "x" + size.getY() + "x" + size.getZ());
+		}
+
+		int paletteSize = buffer.getInt();
+		if (paletteSize <= 0 || paletteSize > buffer.remaining()) {
+			throw new IOException("Arena " + id + " has invalid palette size " + paletteSize);
+		}
+
+		BlockState[] palette = new BlockState[paletteSize];
+		for (int index = 0; index < palette.length; index++) {
+			byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+			buffer.get(bytes);
+
+			String state = new String(bytes, StandardCharsets.UTF_8);
+			try {
+				palette[index] = new BlockArgumentParser(new StringReader(state), false).parse(false).getBlockState();
+			} catch (CommandSyntaxException exception) {
+				throw new IOException("Arena " + id + " has invalid block state " + state, exception);
+			}
+		}
+
+		ShortBuffer heightmap = BakedArena.readShorts(id, buffer, (long) size.getX() * size.getZ());
+		long volume = (long) size.getX() * size.getY() * size.getZ();
+		ShortBuffer blocks = BakedArena.readShorts(id, buffer, volume);
+
+		int floorsLength = (int) ((volume + 7) / 8);
+		if (buffer.remaining() < floorsLength) {
+			throw new IOException("Arena " + id + " is truncated");
+		}
+		ByteBuffer floors = buffer.slice();
+		floors.limit(floorsLength);
+
+		return new BakedArena(size, palette, heightmap, blocks, floors);
+	}
+
+	@Override
+	public BlockPos getSize() {
+		return this.size;
+	}
+
+	public int getTopY(int x, int z) {
+		return this.heightmap.get(z * this.size.getX() + x);
+	}
+
+	@Override
+	public boolean hasFloors() {
+		return true;
+	}
+
+	@Override
+	public int getFloorY(int x, int z, int maxY) {
+		int sizeX = this.size.getX();
+		int sizeZ = this.size.getZ();
+
+		for (int y = Math.min(maxY, this.size.getY() - 1); y >= 0; y--) {
+			int index = (y * sizeZ + z) * sizeX + x;
+			if ((this.floors.get(index >> 3) & (1 << (index & 7))) != 0) {
+				return y;
+			}
+		}
+		return -1;
+	}
+
+	private static int getRotatedX(int x, int z, BlockRotation rotation) {
+		switch (rotation) {
+			case CLOCKWISE_90:
+				return -z;
+			case CLOCKWISE_180:
+				return -x;
+			case COUNTERCLOCKWISE_90:
+				return z;
+			default:
+				return x;
+		}
+	}
+
+	private static int getRotatedZ(int x, int z, BlockRotation rotation) {
+		switch (rotation) {
+			case CLOCKWISE_90:
+				return x;
+			case CLOCKWISE_180:
+				return -z;
+			case COUNTERCLOCKWISE_90:
+				return -x;
+			default:
+				return z;
+		}
+	}
+
+	@Override
+	public void place(ChunkRegion region, BlockPos pos, BlockRotation rotation, ShardThiefPalette palette, BlockBox box) {
+		BlockState[] states = new BlockState[this.palette.length];
+		for (int index = 0; index < states.length; index++) {
+			states[index] = palette.apply(this.palette[index]).rotate(rotation);
+		}
+
+		int sizeX = this.size.getX();
+		int sizeZ = this.size.getZ();
+
+		BlockPos.Mutable mutablePos = new BlockPos.Mutable();
+		for (int x = 0; x < sizeX; x++) {
+			for (int z = 0; z < sizeZ; z++) {
+				int topY = this.getTopY(x, z);
+				if (topY < 0) continue;
+
+				int worldX = pos.getX() + BakedArena.getRotatedX(x, z, rotation);
+				int worldZ = pos.getZ() + BakedArena.getRotatedZ(x, z, rotation);
+				if (box != null && (worldX < box.minX || worldX > box.maxX || worldZ < box.minZ || worldZ > box.maxZ)) continue;
+
+				for (int y = 0; y <= topY; y++) {
+					int index = this.blocks.get((y * sizeZ + z) * sizeX + x);
+					if (index < 0) continue;
+
+					BlockState state = states[index];
+					if (state.isAir()) continue;
+
+					mutablePos.set(worldX, pos.getY() + y, worldZ);
+					region.setBlockState(mutablePos, state, 2);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package io.github.haykam821.shardthief.game.map;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.BlockPos;
+
+public final class ShardThiefFortLayout implements ShardThiefLayout {
+	private final ShardThiefModule module;
+	private final List<ShardThiefPlacement> placements = new ArrayList<>();
+
+	public ShardThiefFortLayout(ShardThiefModule module) {
+		this.module = module;
+
+		BlockPos pos = new BlockPos(0, 64, 0);
+
+		BlockPos size = module.getSize();
+		int x = size.getX() * 2 - 1;
+		int z = size.getZ() * 2 - 1;
+
+		this.placements.add(new ShardThiefPlacement(module, pos, BlockRotation.NONE, ShardThiefPalette.LIME));
+		this.placements.add(new ShardThiefPlacement(module, pos.add(x, 0, 0), BlockRotation.CLOCKWISE_90, ShardThiefPalette.BLUE));
+		this.placements.add(new ShardThiefPlacement(module, pos.add(x, 0, z), BlockRotation.CLOCKWISE_180, ShardThiefPalette.RED));
+		this.placements.add(new ShardThiefPlacement(module, pos.add(0, 0, z), BlockRotation.COUNTERCLOCKWISE_90, ShardThiefPalette.YELLOW));
+	}
+
+	public List<ShardThiefPlacement> getPlacements() {
+		return this.placements;
+	}
+
+	@Override
+	public boolean hasFloors() {
+		return this.module.hasFloors();
+	}
+
+	@Override
+	public int getFloorY(int x, int z, int maxY) {
+		int floorY = -1;
+		for (ShardThiefPlacement placement : this.placements) {
+			floorY = Math.max(floorY, placement.getFloorY(x, z, maxY));
+		}
+		return floorY;
+	}
+}
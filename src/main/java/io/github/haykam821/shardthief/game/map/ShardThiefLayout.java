@@ -0,0 +1,8 @@
+package io.github.haykam821.shardthief.game.map;
+
+public interface ShardThiefLayout {
+	boolean hasFloors();
+
+	// Returns -1 if there is no floor at or below the height
+	int getFloorY(int x, int z, int maxY);
+}
@@ -1,21 +1,103 @@
 package io.github.haykam821.shardthief.game.map;
 
+import java.util.Comparator;
+import java.util.function.Function;
+
+import io.github.haykam821.shardthief.game.DroppedShard;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.structure.Structure;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.BlockView;
 import net.minecraft.world.gen.chunk.ChunkGenerator;
 
 public final class ShardThiefMap {
-	private final Structure structure;
+	private static final ChunkTicketType<ChunkPos> ARENA_TICKET = ChunkTicketType.create("shardthief_arena", Comparator.comparingLong(ChunkPos::toLong));
+
+	// How far above the arena floor a floor can be and still be reached
+	private static final int FLOOR_SEARCH_HEIGHT = 2;
+
+	private final BlockPos center;
+	private final int radius;
+	private final int spawnCapacity;
+	private final ShardThiefLayout layout;
+	private final Function<MinecraftServer, ChunkGenerator> generatorFactory;
+	private ShardThiefSpawnTable spawns;
+
+	public ShardThiefMap(BlockPos center, int radius, int spawnCapacity, ShardThiefLayout layout, Function<MinecraftServer, ChunkGenerator> generatorFactory) {
+		this.center = center;
+		this.radius = radius;
+		this.spawnCapacity = spawnCapacity;
+		this.layout = layout;
+		this.generatorFactory = generatorFactory;
+	}
+
+	public void createSpawns(ServerWorld world) {
+		this.spawns = ShardThiefSpawnTable.create(world, this, this.spawnCapacity);
+	}
+
+	public ShardThiefSpawnTable getSpawns() {
+		return this.spawns;
+	}
+
+	public BlockPos getCenter() {
+		return this.center;
+	}
+
+	public int getRadius() {
+		return this.radius;
+	}
+
+	public static boolean isStandable(BlockView world, BlockPos floorPos) {
+		if (!DroppedShard.isDroppableOn(world.getBlockState(floorPos), world, floorPos)) return false;
+
+		for (int y = 1; y <= 2; y++) {
+			BlockPos pos = floorPos.up(y);
+			if (!world.getBlockState(pos).getCollisionShape(world, pos).isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static BlockPos findFloor(BlockView world, int x, int z, int maxY) {
+		BlockPos.Mutable pos = new BlockPos.Mutable(x, maxY, z);
+		while (pos.getY() > 0) {
+			if (ShardThiefMap.isStandable(world, pos)) {
+				return pos.toImmutable();
+			}
+			pos.move(Direction.DOWN);
+		}
+		return null;
+	}
 
-	public ShardThiefMap(Structure structure) {
-		this.structure = structure;
+	public BlockPos findArenaFloor(BlockView world, int x, int z) {
+		int maxY = this.center.getY() + FLOOR_SEARCH_HEIGHT;
+		if (!this.layout.hasFloors()) {
+			return ShardThiefMap.findFloor(world, x, z, maxY);
+		}
+
+		int floorY = this.layout.getFloorY(x, z, maxY);
+		return floorY < 0 ? null : new BlockPos(x, floorY, z);
+	}
+
+	private int getTicketRadius() {
+		return (this.spawns.getRadius() >> 4) + 1;
 	}
-	
-	public Structure getStructure() {
-		return this.structure;
+
+	public void addChunkTickets(ServerWorld world) {
+		ChunkPos pos = new ChunkPos(this.center);
+		world.getChunkManager().addTicket(ARENA_TICKET, pos, this.getTicketRadius(), pos);
+	}
+
+	public void removeChunkTickets(ServerWorld world) {
+		ChunkPos pos = new ChunkPos(this.center);
+		world.getChunkManager().removeTicket(ARENA_TICKET, pos, this.getTicketRadius(), pos);
 	}
 
 	public ChunkGenerator createGenerator(MinecraftServer server) {
-		return new ShardThiefChunkGenerator(server, this.structure);
+		return this.generatorFactory.apply(server);
 	}
 }
@@ -1,15 +1,93 @@
 package io.github.haykam821.shardthief.game.map;
 
-import io.github.haykam821.shardthief.Main;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import io.github.haykam821.shardthief.game.ShardThiefConfig;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.structure.Structure;
+import net.minecraft.text.LiteralText;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.gen.chunk.ChunkGenerator;
+import xyz.nucleoid.plasmid.game.GameOpenException;
 
 public class ShardThiefMapBuilder {
-	private static final Identifier STRUCTURE_ID = new Identifier(Main.MOD_ID, "block_fort");
+	// Data packs can override baked arenas
+	private static ShardThiefModule getModule(MinecraftServer server, Identifier id) {
+		Structure structure = server.getStructureManager().getStructure(id);
+		if (structure != null) {
+			BlockPos size = structure.getSize();
+			if (size.getX() <= 0 || size.getY() <= 0 || size.getZ() <= 0) {
+				throw new GameOpenException(new LiteralText("Arena module " + id + " is empty"));
+			}
+
+			return new StructureModule(structure);
+		}
+
+		try {
+			BakedArena arena = BakedArena.get(id);
+			if (arena != null) return arena;
+		} catch (IOException exception) {
+			throw new GameOpenException(new LiteralText("Arena module " + id + " could not be read"), exception);
+		}
+
+		throw new GameOpenException(new LiteralText("Arena module " + id + " is missing"));
+	}
+
+	private static ShardThiefMap createMap(ShardThiefConfig config, BlockPos center, int halfWidth, ShardThiefLayout layout, Function<MinecraftServer, ChunkGenerator> generatorFactory) {
+		return new ShardThiefMap(center, halfWidth - 2, config.getPlayerConfig().getMaxPlayers(), layout, generatorFactory);
+	}
+
+	private ShardThiefMap createFort(MinecraftServer server, ShardThiefConfig config) {
+		ShardThiefModule module = ShardThiefMapBuilder.getModule(server, config.getMapConfig().getModules().get(0));
+
+		ShardThiefFortLayout layout = new ShardThiefFortLayout(module);
+
+		BlockPos size = module.getSize();
+		BlockPos center = new BlockPos(size.getX(), 64, size.getZ());
+		return ShardThiefMapBuilder.createMap(config, center, Math.min(size.getX(), size.getZ()), layout, generatorServer -> {
+			return new ShardThiefChunkGenerator(generatorServer, layout);
+		});
+	}
+
+	private ShardThiefMap createProcedural(MinecraftServer server, ShardThiefConfig config) {
+		ShardThiefMapConfig mapConfig = config.getMapConfig();
+
+		List<ShardThiefModule> modules = new ArrayList<>();
+		int cellSize = 1;
+		for (Identifier id : mapConfig.getModules()) {
+			ShardThiefModule module = ShardThiefMapBuilder.getModule(server, id);
+			modules.add(module);
+
+			BlockPos size = module.getSize();
+			cellSize = Math.max(cellSize, Math.max(size.getX(), size.getZ()));
+		}
+
+		long seed = mapConfig.getSeed().orElseGet(() -> new Random().nextLong());
+		int width = mapConfig.getSize() * 16;
+
+		ShardThiefProceduralLayout layout = new ShardThiefProceduralLayout(modules, cellSize, width, seed);
+
+		BlockPos center = new BlockPos(width / 2, 64, width / 2);
+		return ShardThiefMapBuilder.createMap(config, center, width / 2, layout, generatorServer -> {
+			return new ShardThiefProceduralChunkGenerator(generatorServer, layout);
+		});
+	}
+
+	public ShardThiefMap create(MinecraftServer server, ShardThiefConfig config) {
+		if (config.getMapConfig().getModules().isEmpty()) {
+			throw new GameOpenException(new LiteralText("No arena modules are configured"));
+		}
 
-	public ShardThiefMap create(MinecraftServer server) {
-		Structure structure = server.getStructureManager().getStructureOrBlank(STRUCTURE_ID);
-		return new ShardThiefMap(structure);
+		switch (config.getMapConfig().getType()) {
+			case PROCEDURAL:
+				return this.createProcedural(server, config);
+			default:
+				return this.createFort(server, config);
+		}
 	}
 }
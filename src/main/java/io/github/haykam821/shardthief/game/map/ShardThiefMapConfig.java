@@ -0,0 +1,54 @@
+package io.github.haykam821.shardthief.game.map;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import io.github.haykam821.shardthief.Main;
+import net.minecraft.util.Identifier;
+
+public class ShardThiefMapConfig {
+	private static final Identifier DEFAULT_MODULE = new Identifier(Main.MOD_ID, "block_fort");
+	public static final ShardThiefMapConfig DEFAULT = new ShardThiefMapConfig(ShardThiefMapType.FORT, 8, Optional.empty(), Collections.singletonList(DEFAULT_MODULE));
+
+	public static final Codec<ShardThiefMapConfig> CODEC = RecordCodecBuilder.create(instance -> {
+		return instance.group(
+			ShardThiefMapType.CODEC.optionalFieldOf("type", ShardThiefMapType.FORT).forGetter(ShardThiefMapConfig::getType),
+			Codec.intRange(1, 256).optionalFieldOf("size", 8).forGetter(ShardThiefMapConfig::getSize),
+			Codec.LONG.optionalFieldOf("seed").forGetter(ShardThiefMapConfig::getSeed),
+			Identifier.CODEC.listOf().optionalFieldOf("modules", Collections.singletonList(DEFAULT_MODULE)).forGetter(ShardThiefMapConfig::getModules)
+		).apply(instance, ShardThiefMapConfig::new);
+	});
+
+	private final ShardThiefMapType type;
+	private final int size;
+	private final Optional<Long> seed;
+	private final List<Identifier> modules;
+
+	public ShardThiefMapConfig(ShardThiefMapType type, int size, Optional<Long> seed, List<Identifier> modules) {
+		this.type = type;
+		this.size = size;
+		this.seed = seed;
+		this.modules = modules;
+	}
+
+	public ShardThiefMapType getType() {
+		return this.type;
+	}
+
+	// In chunks
+	public int getSize() {
+		return this.size;
+	}
+
+	public Optional<Long> getSeed() {
+		return this.seed;
+	}
+
+	public List<Identifier> getModules() {
+		return this.modules;
+	}
+}
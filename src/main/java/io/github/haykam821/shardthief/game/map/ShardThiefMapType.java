@@ -0,0 +1,30 @@
+package io.github.haykam821.shardthief.game.map;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+
+public enum ShardThiefMapType {
+	FORT("fort"),
+	PROCEDURAL("procedural");
+
+	public static final Codec<ShardThiefMapType> CODEC = Codec.STRING.comapFlatMap(ShardThiefMapType::byName, ShardThiefMapType::getName);
+
+	private final String name;
+
+	private ShardThiefMapType(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	private static DataResult<ShardThiefMapType> byName(String name) {
+		for (ShardThiefMapType type : ShardThiefMapType.values()) {
+			if (type.name.equals(name)) {
+				return DataResult.success(type);
+			}
+		}
+		return DataResult.error("Unknown map type: " + name);
+	}
+}
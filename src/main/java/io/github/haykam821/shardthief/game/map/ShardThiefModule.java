@@ -0,0 +1,18 @@
+package io.github.haykam821.shardthief.game.map;
+
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.ChunkRegion;
+
+public interface ShardThiefModule {
+	BlockPos getSize();
+
+	boolean hasFloors();
+
+	// Returns -1 if there is no floor at or below the height
+	int getFloorY(int x, int z, int maxY);
+
+	// A null box places the entire module
+	void place(ChunkRegion region, BlockPos pos, BlockRotation rotation, ShardThiefPalette palette, BlockBox box);
+}
@@ -0,0 +1,59 @@
+package io.github.haykam821.shardthief.game.map;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.structure.processor.RuleStructureProcessor;
+import net.minecraft.structure.processor.StructureProcessor;
+import net.minecraft.structure.processor.StructureProcessorRule;
+import net.minecraft.structure.rule.AlwaysTrueRuleTest;
+import net.minecraft.structure.rule.BlockMatchRuleTest;
+
+public enum ShardThiefPalette {
+	LIME(Blocks.LIME_TERRACOTTA, Blocks.LIME_CONCRETE),
+	BLUE(Blocks.LIGHT_BLUE_TERRACOTTA, Blocks.BLUE_CONCRETE),
+	RED(Blocks.RED_TERRACOTTA, Blocks.RED_CONCRETE),
+	YELLOW(Blocks.YELLOW_TERRACOTTA, Blocks.YELLOW_CONCRETE);
+
+	private final Block terracotta;
+	private final Block concrete;
+
+	private ShardThiefPalette(Block terracotta, Block concrete) {
+		this.terracotta = terracotta;
+		this.concrete = concrete;
+	}
+
+	private static StructureProcessorRule getReplaceRule(Block input, Block output) {
+		return new StructureProcessorRule(
+			new BlockMatchRuleTest(input),
+			AlwaysTrueRuleTest.INSTANCE,
+			output.getDefaultState()
+		);
+	}
+
+	private List<StructureProcessorRule> getRules() {
+		List<StructureProcessorRule> rules = new ArrayList<>();
+
+		rules.add(ShardThiefPalette.getReplaceRule(Blocks.WHITE_TERRACOTTA, this.terracotta));
+		rules.add(ShardThiefPalette.getReplaceRule(Blocks.WHITE_CONCRETE, this.concrete));
+	
+		return rules;
+	}
+
+	public BlockState apply(BlockState state) {
+		Block block = state.getBlock();
+		if (block == Blocks.WHITE_TERRACOTTA) {
+			return this.terracotta.getDefaultState();
+		} else if (block == Blocks.WHITE_CONCRETE) {
+			return this.concrete.getDefaultState();
+		}
+		return state;
+	}
+
+	public StructureProcessor createProcessor() {
+		return new RuleStructureProcessor(this.getRules());
+	}
+}
@@ -0,0 +1,56 @@
+package io.github.haykam821.shardthief.game.map;
+
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.ChunkRegion;
+
+public final class ShardThiefPlacement {
+	private final ShardThiefModule module;
+	private final BlockPos pos;
+	private final BlockRotation rotation;
+	private final ShardThiefPalette palette;
+
+	public ShardThiefPlacement(ShardThiefModule module, BlockPos pos, BlockRotation rotation, ShardThiefPalette palette) {
+		this.module = module;
+		this.pos = pos;
+		this.rotation = rotation;
+		this.palette = palette;
+	}
+
+	public void place(ChunkRegion region, BlockBox box) {
+		this.module.place(region, this.pos, this.rotation, this.palette, box);
+	}
+
+	public int getFloorY(int x, int z, int maxY) {
+		int offsetX = x - this.pos.getX();
+		int offsetZ = z - this.pos.getZ();
+
+		// Undo the rotation to find the column within the module
+		int localX;
+		int localZ;
+		switch (this.rotation) {
+			case CLOCKWISE_90:
+				localX = offsetZ;
+				localZ = -offsetX;
+				break;
+			case CLOCKWISE_180:
+				localX = -offsetX;
+				localZ = -offsetZ;
+				break;
+			case COUNTERCLOCKWISE_90:
+				localX = -offsetZ;
+				localZ = offsetX;
+				break;
+			default:
+				localX = offsetX;
+				localZ = offsetZ;
+		}
+
+		BlockPos size = this.module.getSize();
+		if (localX < 0 || localZ < 0 || localX >= size.getX() || localZ >= size.getZ()) return -1;
+
+		int floorY = this.module.getFloorY(localX, localZ, maxY - this.pos.getY());
+		return floorY < 0 ? -1 : this.pos.getY() + floorY;
+	}
+}
@@ -0,0 +1,36 @@
+package io.github.haykam821.shardthief.game.map;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.world.ChunkRegion;
+import net.minecraft.world.gen.StructureAccessor;
+import xyz.nucleoid.plasmid.game.world.generator.GameChunkGenerator;
+
+public final class ShardThiefProceduralChunkGenerator extends GameChunkGenerator {
+	private final ShardThiefProceduralLayout layout;
+
+	public ShardThiefProceduralChunkGenerator(MinecraftServer server, ShardThiefProceduralLayout layout) {
+		super(server);
+		this.layout = layout;
+	}
+
+	@Override
+	public void generateFeatures(ChunkRegion region, StructureAccessor structures) {
+		int width = this.layout.getWidth();
+		int cellSize = this.layout.getCellSize();
+
+		int minX = region.getCenterChunkX() << 4;
+		int minZ = region.getCenterChunkZ() << 4;
+		if (minX < 0 || minZ < 0 || minX >= width || minZ >= width) return;
+
+		int maxX = Math.min(minX + 15, width - 1);
+		int maxZ = Math.min(minZ + 15, width - 1);
+		BlockBox chunkBox = new BlockBox(minX, 0, minZ, maxX, 255, maxZ);
+
+		for (int cellX = minX / cellSize; cellX <= maxX / cellSize; cellX++) {
+			for (int cellZ = minZ / cellSize; cellZ <= maxZ / cellSize; cellZ++) {
+				this.layout.getPlacement(cellX, cellZ).place(region, chunkBox);
+			}
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package io.github.haykam821.shardthief.game.map;
+
+import java.util.List;
+import java.util.Random;
+
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+
+public final class ShardThiefProceduralLayout implements ShardThiefLayout {
+	private static final BlockRotation[] ROTATIONS = BlockRotation.values();
+	private static final ShardThiefPalette[] PALETTES = ShardThiefPalette.values();
+
+	private final List<ShardThiefModule> modules;
+	private final int cellSize;
+	private final int width;
+	private final long seed;
+
+	public ShardThiefProceduralLayout(List<ShardThiefModule> modules, int cellSize, int width, long seed) {
+		this.modules = modules;
+		this.cellSize = cellSize;
+		this.width = width;
+		this.seed = seed;
+	}
+
+	public int getCellSize() {
+		return this.cellSize;
+	}
+
+	public int getWidth() {
+		return this.width;
+	}
+
+	private Random getCellRandom(int cellX, int cellZ) {
+		return new Random(this.seed ^ MathHelper.hashCode(cellX, 0, cellZ));
+	}
+
+	private static BlockPos getRotationOffset(BlockPos size, BlockRotation rotation) {
+		switch (rotation) {
+			case CLOCKWISE_90:
+				return new BlockPos(size.getZ() - 1, 0, 0);
+			case CLOCKWISE_180:
+				return new BlockPos(size.getX() - 1, 0, size.getZ() - 1);
+			case COUNTERCLOCKWISE_90:
+				return new BlockPos(0, 0, size.getX() - 1);
+			default:
+				return BlockPos.ORIGIN;
+		}
+	}
+
+	public ShardThiefPlacement getPlacement(int cellX, int cellZ) {
+		Random random = this.getCellRandom(cellX, cellZ);
+
+		ShardThiefModule module = this.modules.get(random.nextInt(this.modules.size()));
+		BlockRotation rotation = ROTATIONS[random.nextInt(ROTATIONS.length)];
+		ShardThiefPalette palette = PALETTES[random.nextInt(PALETTES.length)];
+
+		BlockPos pos = new BlockPos(cellX * this.cellSize, 64, cellZ * this.cellSize).add(getRotationOffset(module.getSize(), rotation));
+		return new ShardThiefPlacement(module, pos, rotation, palette);
+	}
+
+	@Override
+	public boolean hasFloors() {
+		for (ShardThiefModule module : this.modules) {
+			if (!module.hasFloors()) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int getFloorY(int x, int z, int maxY) {
+		if (x < 0 || z < 0 || x >= this.width || z >= this.width) return -1;
+		return this.getPlacement(x / this.cellSize, z / this.cellSize).getFloorY(x, z, maxY);
+	}
+}
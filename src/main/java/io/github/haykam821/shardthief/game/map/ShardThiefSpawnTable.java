@@ -0,0 +1,88 @@
+package io.github.haykam821.shardthief.game.map;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.BlockView;
+
+public final class ShardThiefSpawnTable {
+	private static final int MIN_RADIUS = 4;
+	// Keeps spawns near the center so that the rest of a large arena can still be generated as it is explored
+	private static final int MAX_RADIUS = 48;
+	private static final int RING_SPACING = 2;
+	private static final float SPAWN_SPACING = 2;
+
+	private final BlockPos[] positions;
+	private final float[] yaws;
+	private final int radius;
+
+	private ShardThiefSpawnTable(BlockPos[] positions, float[] yaws, int radius) {
+		this.positions = positions;
+		this.yaws = yaws;
+		this.radius = radius;
+	}
+
+	public static ShardThiefSpawnTable create(BlockView world, ShardThiefMap map, int capacity) {
+		BlockPos center = map.getCenter();
+
+		List<BlockPos> positions = new ArrayList<>(capacity);
+		List<Float> yaws = new ArrayList<>(capacity);
+		Set<BlockPos> used = new HashSet<>();
+
+		int radius = MIN_RADIUS;
+		int lastRadius = MIN_RADIUS;
+		int maxRadius = Math.max(Math.min(map.getRadius(), MAX_RADIUS), MIN_RADIUS);
+		while (positions.size() < capacity && radius <= maxRadius) {
+			int count = Math.max(4, MathHelper.floor(2 * Math.PI * radius / SPAWN_SPACING));
+			for (int index = 0; index < count && positions.size() < capacity; index++) {
+				float yaw = 360f * index / count;
+
+				double radians = Math.toRadians(yaw);
+				int x = MathHelper.floor(center.getX() + 0.5 + Math.sin(radians) * radius);
+				int z = MathHelper.floor(center.getZ() + 0.5 - Math.cos(radians) * radius);
+
+				BlockPos floorPos = map.findArenaFloor(world, x, z);
+				if (floorPos == null) continue;
+
+				BlockPos pos = floorPos.up();
+				if (used.add(pos)) {
+					positions.add(pos);
+					yaws.add(yaw);
+					lastRadius = radius;
+				}
+			}
+
+			radius += RING_SPACING;
+		}
+
+		// Fall back to the center so that there is always somewhere to spawn
+		if (positions.isEmpty()) {
+			positions.add(center.up());
+			yaws.add(0f);
+		}
+
+		float[] yawArray = new float[yaws.size()];
+		for (int index = 0; index < yawArray.length; index++) {
+			yawArray[index] = yaws.get(index);
+		}
+
+		return new ShardThiefSpawnTable(positions.toArray(new BlockPos[0]), yawArray, lastRadius);
+	}
+
+	public int getRadius() {
+		return this.radius;
+	}
+
+	public void teleport(ServerWorld world, ServerPlayerEntity player, int index) {
+		int spawnIndex = index % this.positions.length;
+
+		BlockPos pos = this.positions[spawnIndex];
+		player.teleport(world, pos.getX() + 0.5, pos.getY(), pos.getZ() + 0.5, this.yaws[spawnIndex], 0);
+	}
+}
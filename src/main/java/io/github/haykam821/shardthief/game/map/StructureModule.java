@@ -0,0 +1,44 @@
+package io.github.haykam821.shardthief.game.map;
+
+import net.minecraft.structure.Structure;
+import net.minecraft.structure.StructurePlacementData;
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.ChunkRegion;
+
+public final class StructureModule implements ShardThiefModule {
+	private final Structure structure;
+
+	public StructureModule(Structure structure) {
+		this.structure = structure;
+	}
+
+	@Override
+	public BlockPos getSize() {
+		return this.structure.getSize();
+	}
+
+	@Override
+	public boolean hasFloors() {
+		return false;
+	}
+
+	@Override
+	public int getFloorY(int x, int z, int maxY) {
+		return -1;
+	}
+
+	@Override
+	public void place(ChunkRegion region, BlockPos pos, BlockRotation rotation, ShardThiefPalette palette, BlockBox box) {
+		StructurePlacementData placementData = new StructurePlacementData();
+
+		placementData.setRotation(rotation);
+		placementData.addProcessor(palette.createProcessor());
+		if (box != null) {
+			placementData.setBoundingBox(box);
+		}
+
+		this.structure.place(region, pos, placementData, region.getRandom());
+	}
+}
@@ -1,29 +1,31 @@
 package io.github.haykam821.shardthief.game.phase;
 
 import com.google.common.collect.Sets;
+import io.github.haykam821.shardthief.Main;
 import io.github.haykam821.shardthief.game.DroppedShard;
 import io.github.haykam821.shardthief.game.PlayerShardEntry;
+import io.github.haykam821.shardthief.game.Shard;
 import io.github.haykam821.shardthief.game.ShardInventoryManager;
 import io.github.haykam821.shardthief.game.ShardThiefConfig;
 import io.github.haykam821.shardthief.game.ShardThiefCountBar;
 import io.github.haykam821.shardthief.game.map.ShardThiefMap;
+import io.github.haykam821.shardthief.game.projectile.LightweightProjectileManager;
+import io.github.haykam821.shardthief.game.worker.ShardThiefEvent;
+import io.github.haykam821.shardthief.game.worker.ShardThiefWorker;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.projectile.ProjectileEntity;
-import net.minecraft.network.packet.s2c.play.TitleS2CPacket;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvents;
-import net.minecraft.text.LiteralText;
-import net.minecraft.text.Text;
 import net.minecraft.util.ActionResult;
-import net.minecraft.util.Formatting;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.GameMode;
 import xyz.nucleoid.plasmid.game.GameLogic;
 import xyz.nucleoid.plasmid.game.GameSpace;
@@ -38,21 +40,38 @@ import xyz.nucleoid.plasmid.game.rule.GameRule;
 import xyz.nucleoid.plasmid.game.rule.RuleResult;
 import xyz.nucleoid.plasmid.widget.GlobalWidgets;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 public class ShardThiefActivePhase {
+	private static final int STATS_FLUSH_INTERVAL = 20 * 30;
+	private static final int SPAWNS_PER_TICK = 4;
+	private static final int SHARD_POS_ATTEMPTS = 8;
+	private static final int DROP_SEARCH_RADIUS = 8;
+
 	private final ServerWorld world;
 	private final GameSpace gameSpace;
 	private final ShardThiefMap map;
 	private final ShardThiefConfig config;
-	private final Set<PlayerShardEntry> players;
+	private final Map<UUID, PlayerShardEntry> players = new HashMap<>();
 	private final ShardThiefCountBar countBar;
+	private final ShardThiefWorker worker;
+	private final Queue<PlayerShardEntry> spawnQueue = new ArrayDeque<>();
+	private final LightweightProjectileManager projectiles;
+
+	private final List<Shard> shards = new ArrayList<>();
+	private final Map<BlockPos, Shard> droppedShards = new HashMap<>();
 
-	private PlayerShardEntry shardHolder;
-	private int ticksUntilCount;
 	private int ticksUntilKitRestock;
-	private DroppedShard droppedShard;
+	private int ticksUntilStatsFlush = STATS_FLUSH_INTERVAL;
+	private int nextSpawnIndex;
+	private boolean ending;
 
 	public ShardThiefActivePhase(GameSpace gameSpace, ShardThiefMap map, ShardThiefConfig config, Set<ServerPlayerEntity> players, GlobalWidgets widgets) {
 		this.world = gameSpace.getWorld();
@@ -60,14 +79,23 @@ public class ShardThiefActivePhase {
 		this.map = map;
 		this.config = config;
 
-		this.players = players.stream().map(player -> {
-			return new PlayerShardEntry(player, this.config.getStartingCounts(), this.config.getShardInvulnerability());
-		}).collect(Collectors.toSet());
+		for (ServerPlayerEntity player : players) {
+			this.players.put(player.getUuid(), new PlayerShardEntry(player, this.config.getStartingCounts(), this.config.getShardInvulnerability()));
+		}
 
 		this.countBar = new ShardThiefCountBar(widgets);
+		this.worker = new ShardThiefWorker(gameSpace, Main.getStats());
+		this.projectiles = this.config.hasLightweightProjectiles() ? new LightweightProjectileManager(this.world, gameSpace.getPlayers(), this::onProjectileHit) : null;
 
-		BlockPos size = this.map.getStructure().getSize();
-		this.placeShard(new BlockPos(size.getX(), 64, size.getZ()));
+		int shardCount = this.config.getShardCount(this.players.size());
+		for (int index = 0; index < shardCount; index++) {
+			BlockPos pos = this.getInitialShardPos(index, shardCount);
+			if (pos == null) continue;
+
+			Shard shard = new Shard();
+			this.shards.add(shard);
+			this.placeShard(shard, pos);
+		}
 	}
 
 	public static void setRules(GameLogic game, RuleResult pvpRule) {
@@ -98,67 +126,104 @@ public class ShardThiefActivePhase {
 	}
 
 	private void open() {
-		int index = 0;
-		for (PlayerShardEntry entry : this.players) {
+		for (PlayerShardEntry entry : this.players.values()) {
 			ServerPlayerEntity player = entry.getPlayer();
 
 			player.setGameMode(GameMode.ADVENTURE);
 			ShardInventoryManager.giveNonShardInventory(player);
 
-			ShardThiefActivePhase.spawn(this.world, this.map, player, index);
-			index += 1;
+			this.spawnQueue.add(entry);
+		}
+
+		if (this.projectiles != null) {
+			this.projectiles.register();
 		}
 	}
 
 	private void close() {
 		this.countBar.remove();
+		this.map.removeChunkTickets(this.world);
+		this.worker.close();
+
+		for (UUID uuid : this.players.keySet()) {
+			Main.getStats().unload(uuid);
+		}
+
+		if (this.projectiles != null) {
+			this.projectiles.unregister();
+		}
 	}
 
 	public float getTimerBarPercent() {
-		if (this.shardHolder == null) {
-			return 1;
+		int counts = this.config.getStartingCounts();
+		for (Shard shard : this.shards) {
+			if (shard.getHolder() != null) {
+				counts = Math.min(counts, shard.getHolder().getCounts());
+			}
 		}
-		return this.shardHolder.getCounts() / (float) this.config.getStartingCounts();
+		return counts / (float) this.config.getStartingCounts();
 	}
 
-	private void clearShard() {
-		if (this.shardHolder == null) return;
+	private void clearShard(Shard shard) {
+		PlayerShardEntry holder = shard.getHolder();
+		if (holder == null) return;
 
-		this.shardHolder.getPlayer().inventory.clear();
-		ShardInventoryManager.giveNonShardInventory(this.shardHolder.getPlayer());
+		holder.getPlayer().inventory.clear();
+		ShardInventoryManager.giveNonShardInventory(holder.getPlayer());
 
-		if (this.shardHolder.getCounts() < this.config.getRestartCounts()) {
-			this.shardHolder.setCounts(this.config.getRestartCounts());
+		if (holder.getCounts() < this.config.getRestartCounts()) {
+			holder.setCounts(this.config.getRestartCounts());
 		}
-		this.shardHolder = null;
+		holder.setShard(null);
+		shard.setHolder(null);
 
-		this.ticksUntilCount = 35;
+		shard.setTicksUntilCount(35);
 	}
 
-	private void setShardHolder(PlayerShardEntry entry) {
-		this.clearShard();
-		this.shardHolder = entry;
+	private void setShardHolder(Shard shard, PlayerShardEntry entry) {
+		this.clearShard(shard);
+		shard.setHolder(entry);
+		entry.setShard(shard);
 		entry.setInvulnerability(this.config.getShardInvulnerability());
 
 		entry.getPlayer().inventory.clear();
 		ShardInventoryManager.giveShardInventory(entry.getPlayer());
 	}
 
-	private void sendStealMessage() {
-		Text stealText = this.shardHolder.getStealMessage();
-		this.gameSpace.getPlayers().sendPacket(new TitleS2CPacket(TitleS2CPacket.Action.ACTIONBAR, stealText));
-	}
-
-	private void pickUpShard(PlayerShardEntry entry) {
-		this.setShardHolder(entry);
+	private void pickUpShard(Shard shard, PlayerShardEntry entry) {
+		this.setShardHolder(shard, entry);
 
-		this.droppedShard.reset(this.world);
-		this.droppedShard = null;
+		DroppedShard dropped = shard.getDropped();
+		this.droppedShards.remove(dropped.getPos());
+		dropped.reset(this.world);
+		shard.setDropped(null);
 
 		this.applyStealSpeed(entry.getPlayer());
 	
 		this.world.playSound(null, entry.getPlayer().getBlockPos(), SoundEvents.ENTITY_ITEM_PICKUP, SoundCategory.PLAYERS, 1, 1);
-		this.sendStealMessage();
+		this.worker.record(ShardThiefEvent.pickup(entry.getPlayer().getUuid(), entry.getPlayer().getDisplayName()));
+	}
+
+	private BlockPos getInitialShardPos(int index, int count) {
+		if (index == 0) return this.findCenterDropPos();
+		BlockPos center = this.map.getCenter();
+
+		int ringRadius = this.map.getRadius() / 2;
+		double slice = 2 * Math.PI / (count - 1);
+
+		// Try nearby angles within this shard's slice of the ring if the ideal position is covered
+		for (int attempt = 0; attempt < SHARD_POS_ATTEMPTS; attempt++) {
+			double angle = slice * (index - 1) + slice * attempt / SHARD_POS_ATTEMPTS;
+			int x = MathHelper.floor(center.getX() + Math.sin(angle) * ringRadius);
+			int z = MathHelper.floor(center.getZ() - Math.cos(angle) * ringRadius);
+
+			BlockPos floorPos = this.map.findArenaFloor(this.world, x, z);
+			if (floorPos != null && !this.droppedShards.containsKey(floorPos)) {
+				return floorPos;
+			}
+		}
+
+		return this.findCenterDropPos();
 	}
 
 	private BlockPos findDropPos(BlockPos initialPos) {
@@ -175,93 +240,200 @@ public class ShardThiefActivePhase {
 		}
 	}
 
-	private void placeShard(BlockPos pos) {
-		this.droppedShard = new DroppedShard(pos, this.world.getBlockState(pos), this.config.getShardInvulnerability());
-		this.droppedShard.place(this.world);
+	private boolean isFreeDropPos(BlockPos pos) {
+		return !this.droppedShards.containsKey(pos) && ShardThiefMap.isStandable(this.world, pos);
 	}
 
-	private void dropShard() {
-		BlockPos pos = this.findDropPos(this.shardHolder.getPlayer().getBlockPos());
-		this.placeShard(pos);
+	// Returns null if there is no free position nearby
+	private BlockPos findFreeDropPos(BlockPos pos) {
+		if (this.isFreeDropPos(pos)) return pos;
 
-		this.clearShard();
+		for (int radius = 1; radius <= DROP_SEARCH_RADIUS; radius++) {
+			for (int offsetX = -radius; offsetX <= radius; offsetX++) {
+				for (int offsetZ = -radius; offsetZ <= radius; offsetZ++) {
+					if (Math.abs(offsetX) != radius && Math.abs(offsetZ) != radius) continue;
 
-		this.world.playSound(null, pos, SoundEvents.ENTITY_SPLASH_POTION_BREAK, SoundCategory.PLAYERS, 1, 1);
+					// Allow stepping up onto a block next to the position
+					BlockPos floorPos = ShardThiefMap.findFloor(this.world, pos.getX() + offsetX, pos.getZ() + offsetZ, pos.getY() + 1);
+					if (floorPos != null && !this.droppedShards.containsKey(floorPos)) {
+						return floorPos;
+					}
+				}
+			}
+		}
+
+		return null;
 	}
 
-	private Formatting getCountTitleColor() {
-		int counts = this.shardHolder.getCounts();
-		if (counts <= 1) {
-			return Formatting.RED;
-		} else if (counts <= 3) {
-			return Formatting.GOLD;
-		} else {
-			return Formatting.YELLOW;
+	private BlockPos findCenterDropPos() {
+		BlockPos center = this.map.getCenter();
+		BlockPos floorPos = this.map.findArenaFloor(this.world, center.getX(), center.getZ());
+
+		BlockPos pos = this.findFreeDropPos(floorPos == null ? this.findDropPos(center) : floorPos);
+		return pos == null ? this.findArenaDropPos() : pos;
+	}
+
+	private BlockPos findArenaDropPos() {
+		BlockPos center = this.map.getCenter();
+		for (int radius = 1; radius <= this.map.getRadius(); radius++) {
+			for (int offsetX = -radius; offsetX <= radius; offsetX++) {
+				for (int offsetZ = -radius; offsetZ <= radius; offsetZ++) {
+					if (Math.abs(offsetX) != radius && Math.abs(offsetZ) != radius) continue;
+
+					BlockPos floorPos = this.map.findArenaFloor(this.world, center.getX() + offsetX, center.getZ() + offsetZ);
+					if (floorPos != null && !this.droppedShards.containsKey(floorPos)) {
+						return floorPos;
+					}
+				}
+			}
 		}
+
+		return null;
+	}
+
+	private void placeShard(Shard shard, BlockPos pos) {
+		DroppedShard dropped = new DroppedShard(pos, this.world.getBlockState(pos), this.config.getShardInvulnerability());
+		dropped.place(this.world);
+
+		shard.setDropped(dropped);
+		this.droppedShards.put(pos, shard);
 	}
 
-	private void tickCounts() {
-		this.shardHolder.decrementCounts();
-		if (this.shardHolder.getCounts() <= 0) {
-			Text message = this.shardHolder.getWinMessage();
-			this.gameSpace.getPlayers().sendMessage(message);
+	private boolean dropShard(Shard shard) {
+		BlockPos pos = this.findFreeDropPos(this.findDropPos(shard.getHolder().getPlayer().getBlockPos()));
+		if (pos == null) {
+			pos = this.findCenterDropPos();
+			if (pos == null) return false;
+		}
+
+		this.placeShard(shard, pos);
+
+		this.clearShard(shard);
+
+		this.world.playSound(null, pos, SoundEvents.ENTITY_SPLASH_POTION_BREAK, SoundCategory.PLAYERS, 1, 1);
+		return true;
+	}
 
-			this.gameSpace.getPlayers().sendSound(SoundEvents.ENTITY_FIREWORK_ROCKET_BLAST, SoundCategory.PLAYERS, 1, 1);
+	private void removeShard(Shard shard) {
+		this.clearShard(shard);
+		this.shards.remove(shard);
 
+		if (this.shards.isEmpty()) {
+			this.ending = true;
 			this.gameSpace.close();
-			return;
-		} else if (this.shardHolder.getCounts() <= 5) {
-			String countString = Integer.toString(this.shardHolder.getCounts());
-			Text countText = new LiteralText(countString).formatted(this.getCountTitleColor()).formatted(Formatting.BOLD);
-			this.gameSpace.getPlayers().sendPacket(new TitleS2CPacket(TitleS2CPacket.Action.TITLE, countText));
+		}
+	}
 
-			this.gameSpace.getPlayers().sendSound(SoundEvents.BLOCK_NOTE_BLOCK_BIT, SoundCategory.PLAYERS, 1, 1.5f);
+	// Returns whether the holder won the game
+	private boolean tickCounts(Shard shard) {
+		PlayerShardEntry holder = shard.getHolder();
+
+		holder.decrementCounts();
+		if (holder.getCounts() <= 0) {
+			// The worker closes the game once the win message is ready
+			this.worker.record(ShardThiefEvent.win(holder.getPlayer().getUuid(), holder.getPlayer().getDisplayName()));
+			this.ending = true;
+			return true;
+		} else if (holder.getCounts() <= 5) {
+			this.worker.record(ShardThiefEvent.count(holder.getPlayer().getUuid(), holder.getCounts()));
 		}
 
-		this.ticksUntilCount = 35;
+		shard.setTicksUntilCount(35);
+		return false;
 	}
 
-	private boolean canPlayerPickUpDroppedShard(PlayerEntity player) {
-		return this.droppedShard != null && this.droppedShard.canPlayerPickUp(player);
+	private Shard getDroppedShardAt(PlayerEntity player) {
+		Shard shard = this.droppedShards.get(player.getLandingPos());
+		if (shard == null || !shard.getDropped().canPlayerPickUp(player)) {
+			return null;
+		}
+		return shard;
 	}
 
 	private void restockKits() {
-		for (PlayerShardEntry entry : this.players) {
-			if (!entry.equals(this.shardHolder)) {
+		for (PlayerShardEntry entry : this.players.values()) {
+			if (!entry.hasShard()) {
 				ShardInventoryManager.restockArrows(entry.getPlayer(), this.config.getMaxArrows());
 			}
 		}
 		this.ticksUntilKitRestock = this.config.getKitRestockInterval();
 	}
 
-	private void tick() {
-		this.countBar.tick(this);
+	private void spawnQueuedPlayers() {
+		for (int count = 0; count < SPAWNS_PER_TICK && !this.spawnQueue.isEmpty(); count++) {
+			PlayerShardEntry entry = this.spawnQueue.remove();
+			if (!this.players.containsKey(entry.getPlayer().getUuid())) continue;
 
-		if (this.droppedShard != null) {
-			this.droppedShard.tick();
+			ShardThiefActivePhase.spawn(this.world, this.map, entry.getPlayer(), this.nextSpawnIndex);
+			this.nextSpawnIndex += 1;
 		}
+	}
+
+	private void tickProjectiles() {
+		List<ServerPlayerEntity> targets = new ArrayList<>(this.shards.size());
+		for (Shard shard : this.shards) {
+			if (shard.getHolder() != null) {
+				targets.add(shard.getHolder().getPlayer());
+			}
+		}
+
+		this.projectiles.tick(targets);
+	}
+
+	private void tick() {
+		this.worker.applyResults();
+		if (this.ending) {
+			// The win event may still be waiting for room in the worker's queue
+			this.worker.submit();
+			return;
+		}
+
+		this.countBar.tick(this);
+		this.spawnQueuedPlayers();
 
 		if (this.ticksUntilKitRestock <= 0) {
 			this.restockKits();
 		}
 		this.ticksUntilKitRestock -= 1;
-	
-		if (this.shardHolder != null) {
-			if (this.ticksUntilCount <= 0) {
-				this.tickCounts();
+
+		for (Shard shard : this.shards) {
+			if (shard.getDropped() != null) {
+				shard.getDropped().tick();
 			}
-			this.ticksUntilCount -= 1;
+
+			PlayerShardEntry holder = shard.getHolder();
+			if (holder != null) {
+				this.worker.record(ShardThiefEvent.hold(holder.getPlayer().getUuid(), 1));
+
+				if (shard.getTicksUntilCount() <= 0 && this.tickCounts(shard)) {
+					this.worker.submit();
+					return;
+				}
+				shard.decrementTicksUntilCount();
+			}
+		}
+
+		if (this.projectiles != null) {
+			this.tickProjectiles();
 		}
 
-		for (PlayerShardEntry entry : this.players) {
+		for (PlayerShardEntry entry : this.players.values()) {
 			entry.tick();
-			if (entry.equals(this.shardHolder)) continue;
+			if (entry.hasShard() || this.droppedShards.isEmpty()) continue;
 
-			ServerPlayerEntity player = entry.getPlayer();
-			if (this.canPlayerPickUpDroppedShard(player)) {
-				this.pickUpShard(entry);
+			Shard shard = this.getDroppedShardAt(entry.getPlayer());
+			if (shard != null) {
+				this.pickUpShard(shard, entry);
 			}
 		}
+
+		if (this.ticksUntilStatsFlush <= 0) {
+			this.worker.record(ShardThiefEvent.flushStats());
+			this.ticksUntilStatsFlush = STATS_FLUSH_INTERVAL;
+		}
+		this.ticksUntilStatsFlush -= 1;
+
+		this.worker.submit();
 	}
 
 	private void setSpectator(PlayerEntity player) {
@@ -273,14 +445,15 @@ public class ShardThiefActivePhase {
 	}
 
 	private void removePlayer(ServerPlayerEntity player) {
+		PlayerShardEntry entry = this.players.remove(player.getUuid());
+		if (entry == null) return;
+
+		Main.getStats().unload(player.getUuid());
+
 		// Drop shard when player is removed
-		if (this.shardHolder != null && player.equals(this.shardHolder.getPlayer())) {
-			this.dropShard();
+		if (entry.hasShard() && !this.dropShard(entry.getShard())) {
+			this.removeShard(entry.getShard());
 		}
-
-		this.players.removeIf(entry -> {
-			return player.equals(entry.getPlayer());
-		});
 	}
 
 	private void applyStealSpeed(ServerPlayerEntity player) {
@@ -289,32 +462,45 @@ public class ShardThiefActivePhase {
 	}
 
 	private void tryTransferShard(ServerPlayerEntity damagedPlayer, DamageSource source) {
+		if (this.ending) return;
 		if (!(source.getAttacker() instanceof ServerPlayerEntity)) return;
 		ServerPlayerEntity attacker = (ServerPlayerEntity) source.getAttacker();
 
-		if (this.shardHolder == null) return;
+		PlayerShardEntry holder = this.players.get(damagedPlayer.getUuid());
+		if (holder == null || !holder.hasShard()) return;
 
-		PlayerEntity shardPlayer = this.shardHolder.getPlayer();
-		if (!damagedPlayer.equals(shardPlayer)) return;
-		if (attacker.equals(shardPlayer)) return;
+		PlayerShardEntry entry = this.players.get(attacker.getUuid());
+		if (entry == null || entry.hasShard()) return;
 
-		for (PlayerShardEntry entry : this.players) {
-			if (attacker.equals(entry.getPlayer())) {
-				if (source.isProjectile()) {
-					this.dropShard();
-					if (source.getSource() instanceof ProjectileEntity) {
-						source.getSource().kill();
-					}
- 				} else if (this.shardHolder.canBeStolen()) {
-					this.setShardHolder(entry);
-					this.applyStealSpeed(entry.getPlayer());
-					this.sendStealMessage();
-				}
-				return;
+		if (source.isProjectile()) {
+			this.dropShardFromProjectile(holder, attacker);
+			if (source.getSource() instanceof ProjectileEntity) {
+				source.getSource().kill();
 			}
+		} else if (holder.canBeStolen()) {
+			this.setShardHolder(holder.getShard(), entry);
+			this.applyStealSpeed(entry.getPlayer());
+			this.worker.record(ShardThiefEvent.steal(attacker.getUuid(), attacker.getDisplayName()));
 		}
 	}
 
+	private void dropShardFromProjectile(PlayerShardEntry holder, ServerPlayerEntity attacker) {
+		if (!this.dropShard(holder.getShard())) return;
+		this.worker.record(ShardThiefEvent.arrowDrop(attacker.getUuid(), attacker.getDisplayName()));
+	}
+
+	private void onProjectileHit(ServerPlayerEntity owner, ServerPlayerEntity target) {
+		if (this.ending) return;
+
+		PlayerShardEntry holder = this.players.get(target.getUuid());
+		if (holder == null || !holder.hasShard()) return;
+
+		PlayerShardEntry entry = this.players.get(owner.getUuid());
+		if (entry == null || entry.hasShard()) return;
+
+		this.dropShardFromProjectile(holder, owner);
+	}
+
 	private ActionResult onPlayerDamage(ServerPlayerEntity damagedPlayer, DamageSource source, float damage) {
 		this.tryTransferShard(damagedPlayer, source);
 		return ActionResult.FAIL;
@@ -326,12 +512,6 @@ public class ShardThiefActivePhase {
 	}
 
 	public static void spawn(ServerWorld world, ShardThiefMap map, ServerPlayerEntity player, int index) {
-		BlockPos size = map.getStructure().getSize();
-
-		Direction direction = Direction.fromHorizontal(index);
-		int distance = (int) Math.min(index / 4f + 4, 8);
-		BlockPos pos = new BlockPos(size.getX(), 65, size.getZ()).offset(direction.getOpposite(), distance);
-
-		player.teleport(world, pos.getX(), pos.getY(), pos.getZ(), direction.asRotation(), 0);
+		map.getSpawns().teleport(world, player, index);
 	}
 }
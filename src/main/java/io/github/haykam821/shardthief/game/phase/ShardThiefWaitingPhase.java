@@ -1,5 +1,6 @@
 package io.github.haykam821.shardthief.game.phase;
 
+import io.github.haykam821.shardthief.Main;
 import io.github.haykam821.shardthief.game.ShardThiefConfig;
 import io.github.haykam821.shardthief.game.map.ShardThiefMap;
 import io.github.haykam821.shardthief.game.map.ShardThiefMapBuilder;
@@ -15,6 +16,7 @@ import xyz.nucleoid.plasmid.game.GameWaitingLobby;
 import xyz.nucleoid.plasmid.game.StartResult;
 import xyz.nucleoid.plasmid.game.event.PlayerAddListener;
 import xyz.nucleoid.plasmid.game.event.PlayerDeathListener;
+import xyz.nucleoid.plasmid.game.event.PlayerRemoveListener;
 import xyz.nucleoid.plasmid.game.event.RequestStartListener;
 import xyz.nucleoid.plasmid.game.rule.RuleResult;
 
@@ -31,7 +33,7 @@ public class ShardThiefWaitingPhase {
 
 	public static GameOpenProcedure open(GameOpenContext<ShardThiefConfig> context) {
 		ShardThiefMapBuilder mapBuilder = new ShardThiefMapBuilder();
-		ShardThiefMap map = mapBuilder.create(context.getServer());
+		ShardThiefMap map = mapBuilder.create(context.getServer(), context.getConfig());
 
 		BubbleWorldConfig worldConfig = new BubbleWorldConfig()
 			.setGenerator(map.createGenerator(context.getServer()))
@@ -39,6 +41,8 @@ public class ShardThiefWaitingPhase {
 
 		return context.createOpenProcedure(worldConfig, game -> {
 			ShardThiefWaitingPhase waiting = new ShardThiefWaitingPhase(game.getSpace(), map, context.getConfig());
+			map.createSpawns(game.getSpace().getWorld());
+			map.addChunkTickets(game.getSpace().getWorld());
 
 			GameWaitingLobby.applyTo(game, context.getConfig().getPlayerConfig());
 
@@ -47,6 +51,7 @@ public class ShardThiefWaitingPhase {
 			// Listeners
 			game.on(PlayerAddListener.EVENT, waiting::addPlayer);
 			game.on(PlayerDeathListener.EVENT, waiting::onPlayerDeath);
+			game.on(PlayerRemoveListener.EVENT, waiting::removePlayer);
 			game.on(RequestStartListener.EVENT, waiting::requestStart);
 		});
 	}
@@ -57,9 +62,14 @@ public class ShardThiefWaitingPhase {
 	}
 
 	private void addPlayer(ServerPlayerEntity player) {
+		Main.getStats().load(player.getServer(), player.getUuid());
 		ShardThiefActivePhase.spawn(this.gameSpace.getWorld(), this.map, player, this.gameSpace.getPlayerCount() - 1);
 	}
 
+	private void removePlayer(ServerPlayerEntity player) {
+		Main.getStats().unload(player.getUuid());
+	}
+
 	private ActionResult onPlayerDeath(ServerPlayerEntity player, DamageSource source) {
 		// Respawn player
 		ShardThiefActivePhase.spawn(this.gameSpace.getWorld(), this.map, player, 0);
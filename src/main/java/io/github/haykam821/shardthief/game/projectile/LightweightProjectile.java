@@ -0,0 +1,73 @@
+package io.github.haykam821.shardthief.game.projectile;
+
+import java.util.UUID;
+
+import net.minecraft.entity.EntityType;
+import net.minecraft.network.packet.s2c.play.EntitiesDestroyS2CPacket;
+import net.minecraft.network.packet.s2c.play.EntitySpawnS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+// Exists only on the server as a position and velocity, as clients simulate the flight themselves
+public class LightweightProjectile {
+	private static final double DRAG = 0.99;
+	private static final double GRAVITY = 0.05;
+
+	private final int entityId;
+	private final UUID uuid = UUID.randomUUID();
+
+	private ServerPlayerEntity owner;
+	private Vec3d pos;
+	private Vec3d velocity;
+	private int age;
+
+	public LightweightProjectile(int entityId) {
+		this.entityId = entityId;
+	}
+
+	public void reset(ServerPlayerEntity owner, Vec3d pos, Vec3d velocity) {
+		this.owner = owner;
+		this.pos = pos;
+		this.velocity = velocity;
+		this.age = 0;
+	}
+
+	public ServerPlayerEntity getOwner() {
+		return this.owner;
+	}
+
+	public Vec3d getPos() {
+		return this.pos;
+	}
+
+	public int getAge() {
+		return this.age;
+	}
+
+	public Vec3d getNextPos() {
+		return this.pos.add(this.velocity);
+	}
+
+	public void step() {
+		this.pos = this.getNextPos();
+		this.velocity = this.velocity.multiply(DRAG).subtract(0, GRAVITY, 0);
+		this.age += 1;
+	}
+
+	public EntitySpawnS2CPacket createSpawnPacket() {
+		float horizontal = MathHelper.sqrt(this.velocity.x * this.velocity.x + this.velocity.z * this.velocity.z);
+		float yaw = (float) (MathHelper.atan2(this.velocity.x, this.velocity.z) * 180 / Math.PI);
+		float pitch = (float) (MathHelper.atan2(this.velocity.y, horizontal) * 180 / Math.PI);
+
+		return new EntitySpawnS2CPacket(this.entityId, this.uuid, this.pos.x, this.pos.y, this.pos.z, pitch, yaw, EntityType.ARROW, this.owner.getEntityId(), this.velocity);
+	}
+
+	public EntitiesDestroyS2CPacket createDestroyPacket() {
+		return new EntitiesDestroyS2CPacket(this.entityId);
+	}
+
+	public void clear() {
+		this.owner = null;
+	}
+}
@@ -0,0 +1,138 @@
+package io.github.haykam821.shardthief.game.projectile;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.projectile.PersistentProjectileEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.hit.HitResult;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.RaycastContext;
+import net.minecraft.world.World;
+import xyz.nucleoid.plasmid.game.player.PlayerSet;
+
+public class LightweightProjectileManager {
+	private static final Map<World, LightweightProjectileManager> MANAGERS = new WeakHashMap<>();
+
+	// Negative IDs never collide with real entities
+	private static final AtomicInteger NEXT_ENTITY_ID = new AtomicInteger(-1);
+
+	private static final int MAX_AGE = 20 * 5;
+
+	private final ServerWorld world;
+	private final PlayerSet players;
+	private final BiConsumer<ServerPlayerEntity, ServerPlayerEntity> hitListener;
+
+	private final List<LightweightProjectile> projectiles = new ArrayList<>();
+	private final Deque<LightweightProjectile> pool = new ArrayDeque<>();
+
+	public LightweightProjectileManager(ServerWorld world, PlayerSet players, BiConsumer<ServerPlayerEntity, ServerPlayerEntity> hitListener) {
+		this.world = world;
+		this.players = players;
+		this.hitListener = hitListener;
+	}
+
+	public void register() {
+		MANAGERS.put(this.world, this);
+	}
+
+	public void unregister() {
+		MANAGERS.remove(this.world);
+
+		for (LightweightProjectile projectile : this.projectiles) {
+			projectile.clear();
+		}
+		this.projectiles.clear();
+		this.pool.clear();
+	}
+
+	// Returns whether the arrow was captured and should not be spawned
+	public static boolean capture(World world, Entity entity) {
+		if (!(entity instanceof PersistentProjectileEntity)) return false;
+
+		LightweightProjectileManager manager = MANAGERS.get(world);
+		if (manager == null) return false;
+
+		Entity owner = ((PersistentProjectileEntity) entity).getOwner();
+		if (!(owner instanceof ServerPlayerEntity)) return false;
+
+		manager.shoot((ServerPlayerEntity) owner, entity.getPos(), entity.getVelocity());
+		return true;
+	}
+
+	private void shoot(ServerPlayerEntity owner, Vec3d pos, Vec3d velocity) {
+		LightweightProjectile projectile = this.pool.poll();
+		if (projectile == null) {
+			projectile = new LightweightProjectile(NEXT_ENTITY_ID.getAndDecrement());
+		}
+
+		projectile.reset(owner, pos, velocity);
+		this.projectiles.add(projectile);
+
+		this.players.sendPacket(projectile.createSpawnPacket());
+	}
+
+	private void remove(int index) {
+		LightweightProjectile projectile = this.projectiles.get(index);
+		this.players.sendPacket(projectile.createDestroyPacket());
+
+		// Swap with the last projectile to avoid shifting the list
+		int lastIndex = this.projectiles.size() - 1;
+		this.projectiles.set(index, this.projectiles.get(lastIndex));
+		this.projectiles.remove(lastIndex);
+
+		projectile.clear();
+		this.pool.push(projectile);
+	}
+
+	private ServerPlayerEntity getHitTarget(LightweightProjectile projectile, Vec3d start, Vec3d end, List<ServerPlayerEntity> targets) {
+		for (ServerPlayerEntity target : targets) {
+			if (target == projectile.getOwner()) continue;
+
+			if (target.getBoundingBox().expand(0.3).raycast(start, end).isPresent()) {
+				return target;
+			}
+		}
+		return null;
+	}
+
+	private HitResult raycastBlocks(LightweightProjectile projectile, Vec3d start, Vec3d end) {
+		RaycastContext context = new RaycastContext(start, end, RaycastContext.ShapeType.COLLIDER, RaycastContext.FluidHandling.NONE, projectile.getOwner());
+		return this.world.raycast(context);
+	}
+
+	public void tick(List<ServerPlayerEntity> targets) {
+		for (int index = this.projectiles.size() - 1; index >= 0; index--) {
+			LightweightProjectile projectile = this.projectiles.get(index);
+
+			Vec3d start = projectile.getPos();
+			Vec3d end = projectile.getNextPos();
+
+			// Targets behind a block cannot be hit
+			HitResult blockHit = this.raycastBlocks(projectile, start, end);
+			boolean hitBlock = blockHit.getType() != HitResult.Type.MISS;
+			if (hitBlock) {
+				end = blockHit.getPos();
+			}
+
+			ServerPlayerEntity target = this.getHitTarget(projectile, start, end, targets);
+			if (target != null) {
+				ServerPlayerEntity owner = projectile.getOwner();
+				this.remove(index);
+				this.hitListener.accept(owner, target);
+			} else if (hitBlock || projectile.getAge() >= MAX_AGE || end.y < 0 || projectile.getOwner().removed) {
+				this.remove(index);
+			} else {
+				projectile.step();
+			}
+		}
+	}
+}
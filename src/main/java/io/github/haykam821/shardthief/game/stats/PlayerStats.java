@@ -0,0 +1,86 @@
+package io.github.haykam821.shardthief.game.stats;
+
+public class PlayerStats {
+	private int wins;
+	private int steals;
+	private int arrowDrops;
+	private long holdingTicks;
+	private int pickups;
+
+	public PlayerStats() {
+		return;
+	}
+
+	public PlayerStats(PlayerStats stats) {
+		this.add(stats);
+	}
+
+	public int getWins() {
+		return this.wins;
+	}
+
+	public int getSteals() {
+		return this.steals;
+	}
+
+	public int getArrowDrops() {
+		return this.arrowDrops;
+	}
+
+	public long getHoldingTicks() {
+		return this.holdingTicks;
+	}
+
+	public int getPickups() {
+		return this.pickups;
+	}
+
+	public void incrementWins() {
+		this.wins += 1;
+	}
+
+	public void incrementSteals() {
+		this.steals += 1;
+	}
+
+	public void incrementArrowDrops() {
+		this.arrowDrops += 1;
+	}
+
+	public void addHoldingTicks(long ticks) {
+		this.holdingTicks += ticks;
+	}
+
+	public void incrementPickups() {
+		this.pickups += 1;
+	}
+
+	public void add(PlayerStats stats) {
+		this.wins += stats.wins;
+		this.steals += stats.steals;
+		this.arrowDrops += stats.arrowDrops;
+		this.holdingTicks += stats.holdingTicks;
+		this.pickups += stats.pickups;
+	}
+
+	public String write() {
+		return this.wins + " " + this.steals + " " + this.arrowDrops + " " + this.holdingTicks + " " + this.pickups;
+	}
+
+	public static PlayerStats read(String[] fields, int offset) {
+		PlayerStats stats = new PlayerStats();
+
+		stats.wins = Integer.parseInt(fields[offset]);
+		stats.steals = Integer.parseInt(fields[offset + 1]);
+		stats.arrowDrops = Integer.parseInt(fields[offset + 2]);
+		stats.holdingTicks = Long.parseLong(fields[offset + 3]);
+		stats.pickups = Integer.parseInt(fields[offset + 4]);
+
+		return stats;
+	}
+
+	@Override
+	public String toString() {
+		return "PlayerStats{wins=" + this.wins + ", steals=" + this.steals + ", arrowDrops=" + this.arrowDrops + ", holdingTicks=" + this.holdingTicks + ", pickups=" + this.pickups + "}";
+	}
+}
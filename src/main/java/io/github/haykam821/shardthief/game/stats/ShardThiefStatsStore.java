@@ -0,0 +1,238 @@
+package io.github.haykam821.shardthief.game.stats;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Stores lifetime player stats as an append-only log of deltas that is periodically compacted into totals.
+ *
+ * <p>All methods other than {@link #submit(Map)} and those run on the store's executor are expected to be called on the server thread.
+ * Stats are recorded into an in-memory cache, and disk access only ever happens on the executor.
+ */
+public class ShardThiefStatsStore {
+	private static final Logger LOGGER = LogManager.getLogger("Shard Thief Stats");
+	private static final int COMPACT_THRESHOLD = 1024;
+
+	private final Path path;
+	private final ExecutorService executor;
+
+	// Any thread
+	private final Queue<Map<UUID, PlayerStats>> submitted = new ConcurrentLinkedQueue<>();
+
+	// Server thread
+	private Map<UUID, PlayerStats> pending = new HashMap<>();
+	private final Map<UUID, CachedStats> cache = new HashMap<>();
+
+	// Executor thread
+	private Map<UUID, PlayerStats> index;
+	private int linesSinceCompaction;
+
+	public ShardThiefStatsStore(Path path) {
+		this.path = path;
+		this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+			.setNameFormat("Shard Thief Stats")
+			.setDaemon(true)
+			.build());
+	}
+
+	// Safe to call from any thread
+	public void submit(Map<UUID, PlayerStats> deltas) {
+		this.submitted.add(deltas);
+	}
+
+	private void applySubmitted() {
+		Map<UUID, PlayerStats> deltas;
+		while ((deltas = this.submitted.poll()) != null) {
+			for (Map.Entry<UUID, PlayerStats> entry : deltas.entrySet()) {
+				PlayerStats delta = entry.getValue();
+				this.update(entry.getKey(), stats -> stats.add(delta));
+			}
+		}
+	}
+
+	private void update(UUID uuid, Consumer<PlayerStats> action) {
+		action.accept(this.pending.computeIfAbsent(uuid, key -> new PlayerStats()));
+
+		CachedStats cached = this.cache.get(uuid);
+		if (cached != null) {
+			action.accept(cached.sinceLoad);
+		}
+	}
+
+	public PlayerStats get(UUID uuid) {
+		this.applySubmitted();
+
+		CachedStats cached = this.cache.get(uuid);
+		if (cached == null || cached.base == null) return null;
+
+		PlayerStats stats = new PlayerStats(cached.base);
+		stats.add(cached.sinceLoad);
+		return stats;
+	}
+
+	public void load(MinecraftServer server, UUID uuid) {
+		if (this.cache.containsKey(uuid)) return;
+		this.applySubmitted();
+
+		// Deltas that are still pending were recorded before the load and will not be read from disk
+		PlayerStats delta = this.pending.get(uuid);
+		CachedStats cached = new CachedStats(delta == null ? new PlayerStats() : new PlayerStats(delta));
+		this.cache.put(uuid, cached);
+
+		this.executor.execute(() -> {
+			PlayerStats stats = this.getIndex().get(uuid);
+			PlayerStats base = stats == null ? new PlayerStats() : new PlayerStats(stats);
+
+			server.execute(() -> {
+				cached.base = base;
+			});
+		});
+	}
+
+	public void unload(UUID uuid) {
+		this.cache.remove(uuid);
+	}
+
+	public void flush() {
+		this.applySubmitted();
+		if (this.pending.isEmpty()) return;
+
+		Map<UUID, PlayerStats> deltas = this.pending;
+		this.pending = new HashMap<>();
+
+		try {
+			this.executor.execute(() -> {
+				this.append(deltas);
+			});
+		} catch (RejectedExecutionException exception) {
+			LOGGER.error("Failed to write stats to {} as the store is closed", this.path);
+		}
+	}
+
+	public void close() {
+		// Games that closed with the server may have submitted stats without flushing them
+		this.applySubmitted();
+		this.flush();
+		this.executor.execute(this::compact);
+		this.executor.shutdown();
+
+		try {
+			if (!this.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+				LOGGER.warn("Timed out while writing stats to {}", this.path);
+			}
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private Map<UUID, PlayerStats> getIndex() {
+		if (this.index == null) {
+			this.index = new HashMap<>();
+			if (Files.exists(this.path)) {
+				this.readLog();
+			}
+		}
+		return this.index;
+	}
+
+	private void readLog() {
+		try (BufferedReader reader = Files.newBufferedReader(this.path, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty()) continue;
+				this.linesSinceCompaction += 1;
+
+				try {
+					String[] fields = line.split(" ");
+					UUID uuid = UUID.fromString(fields[0]);
+					this.index.computeIfAbsent(uuid, key -> new PlayerStats()).add(PlayerStats.read(fields, 1));
+				} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException exception) {
+					LOGGER.warn("Skipping malformed stats line: {}", line);
+				}
+			}
+		} catch (IOException exception) {
+			LOGGER.error("Failed to read stats from {}", this.path, exception);
+		}
+	}
+
+	private void append(Map<UUID, PlayerStats> deltas) {
+		// Read existing totals before appending so that the deltas are not counted twice
+		Map<UUID, PlayerStats> index = this.getIndex();
+
+		try {
+			Files.createDirectories(this.path.getParent());
+			try (BufferedWriter writer = Files.newBufferedWriter(this.path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+				for (Map.Entry<UUID, PlayerStats> entry : deltas.entrySet()) {
+					writer.write(entry.getKey() + " " + entry.getValue().write());
+					writer.newLine();
+				}
+			}
+		} catch (IOException exception) {
+			LOGGER.error("Failed to write stats to {}", this.path, exception);
+			return;
+		}
+
+		for (Map.Entry<UUID, PlayerStats> entry : deltas.entrySet()) {
+			index.computeIfAbsent(entry.getKey(), key -> new PlayerStats()).add(entry.getValue());
+		}
+		this.linesSinceCompaction += deltas.size();
+
+		if (this.linesSinceCompaction > COMPACT_THRESHOLD) {
+			this.compact();
+		}
+	}
+
+	private void compact() {
+		Map<UUID, PlayerStats> index = this.getIndex();
+		if (this.linesSinceCompaction <= index.size()) return;
+
+		Path tempPath = this.path.resolveSibling(this.path.getFileName() + ".tmp");
+		try {
+			Files.createDirectories(this.path.getParent());
+			try (BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+				for (Map.Entry<UUID, PlayerStats> entry : index.entrySet()) {
+					writer.write(entry.getKey() + " " + entry.getValue().write());
+					writer.newLine();
+				}
+			}
+			Files.move(tempPath, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException exception) {
+			LOGGER.error("Failed to compact stats in {}", this.path, exception);
+			return;
+		}
+
+		this.linesSinceCompaction = index.size();
+	}
+
+	private static class CachedStats {
+		private final PlayerStats sinceLoad;
+		private PlayerStats base;
+
+		private CachedStats(PlayerStats sinceLoad) {
+			this.sinceLoad = sinceLoad;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package io.github.haykam821.shardthief.game.worker;
+
+import java.util.UUID;
+
+import net.minecraft.text.Text;
+
+public final class ShardThiefEvent {
+	public enum Type {
+		PICKUP,
+		STEAL,
+		ARROW_DROP,
+		HOLD,
+		COUNT,
+		WIN,
+		FLUSH_STATS;
+	}
+
+	private final Type type;
+	private final UUID player;
+	private final Text name;
+	private final int value;
+
+	private ShardThiefEvent(Type type, UUID player, Text name, int value) {
+		this.type = type;
+		this.player = player;
+		this.name = name;
+		this.value = value;
+	}
+
+	public static ShardThiefEvent pickup(UUID player, Text name) {
+		return new ShardThiefEvent(Type.PICKUP, player, name, 0);
+	}
+
+	public static ShardThiefEvent steal(UUID player, Text name) {
+		return new ShardThiefEvent(Type.STEAL, player, name, 0);
+	}
+
+	public static ShardThiefEvent arrowDrop(UUID player, Text name) {
+		return new ShardThiefEvent(Type.ARROW_DROP, player, name, 0);
+	}
+
+	public static ShardThiefEvent hold(UUID player, int ticks) {
+		return new ShardThiefEvent(Type.HOLD, player, null, ticks);
+	}
+
+	public static ShardThiefEvent count(UUID player, int counts) {
+		return new ShardThiefEvent(Type.COUNT, player, null, counts);
+	}
+
+	public static ShardThiefEvent win(UUID player, Text name) {
+		return new ShardThiefEvent(Type.WIN, player, name, 0);
+	}
+
+	public static ShardThiefEvent flushStats() {
+		return new ShardThiefEvent(Type.FLUSH_STATS, null, null, 0);
+	}
+
+	public Type getType() {
+		return this.type;
+	}
+
+	public UUID getPlayer() {
+		return this.player;
+	}
+
+	public Text getName() {
+		return this.name;
+	}
+
+	public int getValue() {
+		return this.value;
+	}
+
+	@Override
+	public String toString() {
+		return "ShardThiefEvent{type=" + this.type + ", player=" + this.player + ", value=" + this.value + "}";
+	}
+}
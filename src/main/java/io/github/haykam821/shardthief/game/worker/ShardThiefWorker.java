@@ -0,0 +1,233 @@
+package io.github.haykam821.shardthief.game.worker;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.github.haykam821.shardthief.game.ShardThiefMessages;
+import io.github.haykam821.shardthief.game.stats.PlayerStats;
+import io.github.haykam821.shardthief.game.stats.ShardThiefStatsStore;
+import net.minecraft.network.packet.s2c.play.TitleS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.text.Text;
+import xyz.nucleoid.plasmid.game.GameSpace;
+
+/**
+ * Handles the parts of a game that do not touch the world, such as stat bookkeeping and message formatting, off the server thread.
+ *
+ * <p>The server thread {@link #record(ShardThiefEvent) records} events and {@link #submit() submits} them once per tick.
+ * The worker turns them into results, which the server thread {@link #applyResults() applies} at the start of the next tick.
+ */
+public class ShardThiefWorker {
+	private static final Logger LOGGER = LogManager.getLogger("Shard Thief Worker");
+	private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+		.setNameFormat("Shard Thief Worker")
+		.setDaemon(true)
+		.build());
+
+	private static final int QUEUE_CAPACITY = 1024;
+	private static final int CLOSE_TIMEOUT = 10;
+
+	private final GameSpace gameSpace;
+	private final ShardThiefStatsStore stats;
+
+	private final SpscQueue<ShardThiefEvent> events = new SpscQueue<>(QUEUE_CAPACITY);
+	private final SpscQueue<Runnable> results = new SpscQueue<>(QUEUE_CAPACITY);
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	// Server thread
+	private final Queue<ShardThiefEvent> eventOverflow = new ArrayDeque<>();
+
+	// Worker thread
+	private final Queue<Runnable> resultOverflow = new ArrayDeque<>();
+	private Map<UUID, PlayerStats> pendingStats = new HashMap<>();
+	private final Map<UUID, PlayerStats> gameStats = new HashMap<>();
+	private final Map<UUID, Text> names = new HashMap<>();
+
+	public ShardThiefWorker(GameSpace gameSpace, ShardThiefStatsStore stats) {
+		this.gameSpace = gameSpace;
+		this.stats = stats;
+	}
+
+	public void record(ShardThiefEvent event) {
+		if (!this.eventOverflow.isEmpty() || !this.events.offer(event)) {
+			this.eventOverflow.add(event);
+		}
+	}
+
+	public void submit() {
+		while (!this.eventOverflow.isEmpty() && this.events.offer(this.eventOverflow.peek())) {
+			this.eventOverflow.remove();
+		}
+
+		if (!this.events.isEmpty() && this.scheduled.compareAndSet(false, true)) {
+			EXECUTOR.execute(this::drain);
+		}
+	}
+
+	// Must be called on the server thread
+	public void applyResults() {
+		Runnable result;
+		while ((result = this.results.poll()) != null) {
+			result.run();
+		}
+	}
+
+	public void close() {
+		// Overflowing events are handed to the worker rather than read from the server thread's queue
+		Queue<ShardThiefEvent> overflow = new ArrayDeque<>(this.eventOverflow);
+		this.eventOverflow.clear();
+
+		EXECUTOR.execute(() -> {
+			this.processEvents();
+			for (ShardThiefEvent event : overflow) {
+				this.process(event);
+			}
+			this.flushStats();
+		});
+	}
+
+	// Only called while the server is stopping, so that games closed with it reach the stats store first
+	public static void awaitIdle() {
+		Future<?> future = EXECUTOR.submit(() -> {});
+
+		try {
+			future.get(CLOSE_TIMEOUT, TimeUnit.SECONDS);
+		} catch (ExecutionException | TimeoutException exception) {
+			LOGGER.warn("Timed out while waiting for games to finish processing events", exception);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void processEvents() {
+		ShardThiefEvent event;
+		while ((event = this.events.poll()) != null) {
+			this.process(event);
+		}
+	}
+
+	private void drain() {
+		while (true) {
+			while (!this.resultOverflow.isEmpty() && this.results.offer(this.resultOverflow.peek())) {
+				this.resultOverflow.remove();
+			}
+
+			this.processEvents();
+
+			// Events recorded after the queue was found empty but before the flag was cleared would otherwise be missed
+			this.scheduled.set(false);
+			if (this.events.isEmpty() || !this.scheduled.compareAndSet(false, true)) {
+				return;
+			}
+		}
+	}
+
+	private void emit(Runnable result) {
+		if (!this.resultOverflow.isEmpty() || !this.results.offer(result)) {
+			this.resultOverflow.add(result);
+		}
+	}
+
+	private void updateStats(UUID uuid, Consumer<PlayerStats> action) {
+		action.accept(this.pendingStats.computeIfAbsent(uuid, key -> new PlayerStats()));
+		action.accept(this.gameStats.computeIfAbsent(uuid, key -> new PlayerStats()));
+	}
+
+	private void process(ShardThiefEvent event) {
+		if (event.getName() != null) {
+			this.names.put(event.getPlayer(), event.getName());
+		}
+
+		switch (event.getType()) {
+			case PICKUP:
+				this.updateStats(event.getPlayer(), PlayerStats::incrementPickups);
+				this.emitStealMessage(event.getName());
+				break;
+			case STEAL:
+				this.updateStats(event.getPlayer(), PlayerStats::incrementSteals);
+				this.emitStealMessage(event.getName());
+				break;
+			case ARROW_DROP:
+				this.updateStats(event.getPlayer(), PlayerStats::incrementArrowDrops);
+				break;
+			case HOLD:
+				this.updateStats(event.getPlayer(), stats -> stats.addHoldingTicks(event.getValue()));
+				break;
+			case COUNT:
+				this.emitCount(event.getValue());
+				break;
+			case WIN:
+				this.updateStats(event.getPlayer(), PlayerStats::incrementWins);
+				// Lifetime stats shown with the summary should include this game
+				this.flushStats();
+				this.emitWin(event.getName());
+				break;
+			case FLUSH_STATS:
+				this.flushStats();
+				break;
+		}
+	}
+
+	private void emitStealMessage(Text name) {
+		Text stealText = ShardThiefMessages.getStealMessage(name);
+		this.emit(() -> {
+			this.gameSpace.getPlayers().sendPacket(new TitleS2CPacket(TitleS2CPacket.Action.ACTIONBAR, stealText));
+		});
+	}
+
+	private void emitCount(int counts) {
+		Text countText = ShardThiefMessages.getCountTitle(counts);
+		this.emit(() -> {
+			this.gameSpace.getPlayers().sendPacket(new TitleS2CPacket(TitleS2CPacket.Action.TITLE, countText));
+			this.gameSpace.getPlayers().sendSound(SoundEvents.BLOCK_NOTE_BLOCK_BIT, SoundCategory.PLAYERS, 1, 1.5f);
+		});
+	}
+
+	private void emitWin(Text name) {
+		Text message = ShardThiefMessages.getWinMessage(name);
+		Text summary = ShardThiefMessages.getSummary(this.gameStats, this.names);
+
+		this.emit(() -> {
+			this.gameSpace.getPlayers().sendMessage(message);
+			this.gameSpace.getPlayers().sendMessage(summary);
+
+			for (ServerPlayerEntity player : this.gameSpace.getPlayers()) {
+				PlayerStats lifetimeStats = this.stats.get(player.getUuid());
+				if (lifetimeStats != null) {
+					player.sendMessage(ShardThiefMessages.getLifetimeStats(lifetimeStats), false);
+				}
+			}
+
+			this.gameSpace.getPlayers().sendSound(SoundEvents.ENTITY_FIREWORK_ROCKET_BLAST, SoundCategory.PLAYERS, 1, 1);
+
+			this.gameSpace.close();
+		});
+	}
+
+	private void flushStats() {
+		if (this.pendingStats.isEmpty()) return;
+
+		Map<UUID, PlayerStats> deltas = this.pendingStats;
+		this.pendingStats = new HashMap<>();
+
+		this.stats.submit(deltas);
+	}
+}
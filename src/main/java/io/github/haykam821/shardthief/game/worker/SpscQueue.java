@@ -0,0 +1,51 @@
+package io.github.haykam821.shardthief.game.worker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded lock-free queue that supports exactly one producer thread and one consumer thread.
+ */
+public final class SpscQueue<T> {
+	private final Object[] buffer;
+	private final int mask;
+
+	// Written only by the consumer
+	private final AtomicLong head = new AtomicLong();
+	// Written only by the producer
+	private final AtomicLong tail = new AtomicLong();
+
+	public SpscQueue(int capacity) {
+		if (Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+		}
+
+		this.buffer = new Object[capacity];
+		this.mask = capacity - 1;
+	}
+
+	public boolean offer(T value) {
+		long tail = this.tail.get();
+		if (tail - this.head.get() >= this.buffer.length) return false;
+
+		this.buffer[(int) (tail & this.mask)] = value;
+		this.tail.lazySet(tail + 1);
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	public T poll() {
+		long head = this.head.get();
+		if (head >= this.tail.get()) return null;
+
+		int index = (int) (head & this.mask);
+		T value = (T) this.buffer[index];
+		this.buffer[index] = null;
+
+		this.head.lazySet(head + 1);
+		return value;
+	}
+
+	public boolean isEmpty() {
+		return this.head.get() >= this.tail.get();
+	}
+}
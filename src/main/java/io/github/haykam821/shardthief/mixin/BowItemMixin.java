@@ -0,0 +1,21 @@
+package io.github.haykam821.shardthief.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import io.github.haykam821.shardthief.game.projectile.LightweightProjectileManager;
+import net.minecraft.entity.Entity;
+import net.minecraft.item.BowItem;
+import net.minecraft.world.World;
+
+@Mixin(BowItem.class)
+public class BowItemMixin {
+	@Redirect(method = "onStoppedUsing", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/World;spawnEntity(Lnet/minecraft/entity/Entity;)Z"))
+	private boolean captureArrow(World world, Entity entity) {
+		if (LightweightProjectileManager.capture(world, entity)) {
+			return true;
+		}
+		return world.spawnEntity(entity);
+	}
+}